@@ -0,0 +1,100 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Writes the data files the benchmarks read into ./gui, the same relative location the
+// application uses. Run the benchmarks from the benchmarks directory so this never
+// touches the real data under src/gui.
+// The output only depends on the sizes and the seed, so runs are comparable.
+final class BenchmarkData {
+    static final Path DATA_DIRECTORY = Paths.get("gui");
+    static final String[] SIZES = {"S", "M", "L"};
+    static final String PASSWORD = "password";
+
+    private static final long SEED = 42;
+
+    private BenchmarkData() {
+    }
+
+    static void write(int costumes, int members, int rentals) throws IOException {
+        if (Files.exists(DATA_DIRECTORY.resolve("FileIO.java"))) {
+            throw new IllegalStateException("Run the benchmarks from the benchmarks directory, not from src");
+        }
+        Files.createDirectories(DATA_DIRECTORY);
+        // Stale snapshots or change journals from an earlier run would be picked up instead of the CSV files
+        Files.deleteIfExists(DATA_DIRECTORY.resolve("data.snapshot"));
+        Files.deleteIfExists(DATA_DIRECTORY.resolve("changes.journal"));
+        Files.deleteIfExists(DATA_DIRECTORY.resolve(".changes.seq"));
+
+        Random random = new Random(SEED);
+        write("costumes.csv", costumeLines(costumes, random));
+        write("Registrater.csv", memberLines(members));
+        write("rentals.csv", rentalLines(rentals, costumes, members, random));
+    }
+
+    static String costumeId(int index) {
+        return String.format("C%03d", index + 1);
+    }
+
+    static String memberId(int index) {
+        return "M" + (index + 1);
+    }
+
+    private static List<String> costumeLines(int count, Random random) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Costume ID, Costume Name, Event, Price, Size:Stock pairs (comma-separated), Image Path");
+        CostumeEvent[] events = CostumeEvent.values();
+        for (int i = 0; i < count; i++) {
+            CostumeEvent event = events[random.nextInt(events.length)];
+            lines.add(String.join(",", costumeId(i), "Benchmark Costume " + (i + 1), event.name(),
+                String.format("%.2f", 20 + random.nextInt(200) + 0.5),
+                "S:" + (1 + random.nextInt(10)), "M:" + (1 + random.nextInt(10)), "L:" + (1 + random.nextInt(10)),
+                "images/benchmark.jpg"));
+        }
+        return lines;
+    }
+
+    private static List<String> memberLines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String id = memberId(i);
+            lines.add(String.join(",", "Member " + (i + 1), id, id.toLowerCase() + "@example.com",
+                "000-0000-0000", PASSWORD, "Tokyo " + (i + 1), "2024-07-01"));
+        }
+        return lines;
+    }
+
+    // Only open rentals (reserved, active, overdue), so the service keeps all of them in
+    // its working set instead of moving them to the archive on load
+    private static List<String> rentalLines(int count, int costumes, int members, Random random) {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Rental Management System - Rental Records");
+        lines.add("# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status");
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            LocalDate rentalDate = today.plusDays(random.nextInt(330) - 30);
+            LocalDate returnDate = rentalDate.plusDays(random.nextInt(7));
+            Rental.RentalStatus status = rentalDate.isAfter(today) ? Rental.RentalStatus.RESERVED
+                : returnDate.isBefore(today) ? Rental.RentalStatus.OVERDUE : Rental.RentalStatus.ACTIVE;
+            double dailyRate = 20 + random.nextInt(200) + 0.5;
+            long days = RentalService.calculateRentalDays(rentalDate, returnDate);
+            lines.add(String.join(",", String.format("R%03d", i + 1), memberId(random.nextInt(members)),
+                costumeId(random.nextInt(costumes)), SIZES[random.nextInt(SIZES.length)],
+                rentalDate.toString(), returnDate.toString(), "",
+                String.format("%.2f", dailyRate * days), String.format("%.2f", dailyRate), "0.00", status.name()));
+        }
+        return lines;
+    }
+
+    private static void write(String fileName, List<String> lines) throws IOException {
+        Files.write(DATA_DIRECTORY.resolve(fileName), lines, StandardCharsets.UTF_8);
+    }
+}
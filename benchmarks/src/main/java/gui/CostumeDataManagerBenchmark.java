@@ -0,0 +1,42 @@
+package gui;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Catalog load from costumes.csv (no data snapshot is written, so this is the parse path)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CostumeDataManagerBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int costumes;
+
+    private CostumeDataManager manager;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData.write(costumes, 10, 10);
+        manager = new CostumeDataManager();
+    }
+
+    @Benchmark
+    public List<Costume> loadCostumes() {
+        return manager.loadCostumes();
+    }
+}
@@ -0,0 +1,66 @@
+package gui;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// FileIO lookups that read a whole data file per call
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileIOBenchmark {
+    private static final int COSTUMES = 200;
+
+    @Param({"1000", "10000", "100000"})
+    public int rentals;
+
+    @Param({"1000", "100000"})
+    public int members;
+
+    private FileIO fileIO;
+    private String costumeId;
+    private String lastMemberId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData.write(COSTUMES, members, rentals);
+        fileIO = FileIO.getInstance();
+        costumeId = BenchmarkData.costumeId(COSTUMES / 2);
+        lastMemberId = BenchmarkData.memberId(members - 1); // worst case for the member scan
+        startDate = LocalDate.now().plusDays(30);
+        endDate = startDate.plusDays(3);
+    }
+
+    @Benchmark
+    public Map<LocalDate, Integer> getReservationCounts() {
+        return fileIO.getReservationCounts(costumeId, "M");
+    }
+
+    @Benchmark
+    public boolean isStockAvailableForPeriod() {
+        return fileIO.isStockAvailableForPeriod(costumeId, "M", startDate, endDate);
+    }
+
+    @Benchmark
+    public boolean isValidLogin() {
+        return fileIO.isValidLogin(lastMemberId, BenchmarkData.PASSWORD);
+    }
+}
@@ -0,0 +1,122 @@
+package gui;
+
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// HotSkuOccupancy under contention: every thread books and releases random 1-5 day periods
+// of a single SKU (like C001 in Halloween week), compared with the same counters behind one
+// lock. Vary the contention with -t, e.g.
+//   java -jar target/benchmarks.jar HotSkuOccupancyBenchmark -t 16
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class HotSkuOccupancyBenchmark {
+    private static final int CAPACITY = 5;
+    private static final int WINDOW_DAYS = 14;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 10, 20);
+
+    @Param({"cas", "locked"})
+    public String structure;
+
+    private Occupancy occupancy;
+
+    interface Occupancy {
+        boolean tryClaim(LocalDate startDate, LocalDate endDate);
+        void release(LocalDate startDate, LocalDate endDate);
+    }
+
+    // Baseline: plain int array guarded by a single monitor
+    static class LockedOccupancy implements Occupancy {
+        private final long firstEpochDay;
+        private final int[] dayCounts;
+
+        LockedOccupancy(LocalDate firstDay, int horizonDays) {
+            this.firstEpochDay = firstDay.toEpochDay();
+            this.dayCounts = new int[horizonDays];
+        }
+
+        public synchronized boolean tryClaim(LocalDate startDate, LocalDate endDate) {
+            int first = (int) (startDate.toEpochDay() - firstEpochDay);
+            int last = (int) (endDate.toEpochDay() - firstEpochDay);
+            for (int i = first; i <= last; i++) {
+                if (dayCounts[i] >= CAPACITY) return false;
+            }
+            for (int i = first; i <= last; i++) {
+                dayCounts[i]++;
+            }
+            return true;
+        }
+
+        public synchronized void release(LocalDate startDate, LocalDate endDate) {
+            int first = (int) (startDate.toEpochDay() - firstEpochDay);
+            int last = (int) (endDate.toEpochDay() - firstEpochDay);
+            for (int i = first; i <= last; i++) {
+                dayCounts[i]--;
+            }
+        }
+    }
+
+    // The bookings one thread holds; at most CAPACITY, so the SKU stays near full
+    @State(Scope.Thread)
+    public static class Clerk {
+        final LocalDate[] heldStart = new LocalDate[CAPACITY];
+        final LocalDate[] heldEnd = new LocalDate[CAPACITY];
+        int held;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            held = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        if (structure.equals("cas")) {
+            HotSkuOccupancy lockFree = new HotSkuOccupancy(CAPACITY, FIRST_DAY, 60);
+            occupancy = new Occupancy() {
+                public boolean tryClaim(LocalDate s, LocalDate e) { return lockFree.tryClaim(s, e); }
+                public void release(LocalDate s, LocalDate e) { lockFree.release(s, e); }
+            };
+        } else {
+            occupancy = new LockedOccupancy(FIRST_DAY, 60);
+        }
+    }
+
+    // One claim or release; returns whether a claim succeeded
+    @Benchmark
+    public boolean claimOrRelease(Clerk clerk) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (clerk.held == CAPACITY || (clerk.held > 0 && random.nextBoolean())) {
+            clerk.held--;
+            occupancy.release(clerk.heldStart[clerk.held], clerk.heldEnd[clerk.held]);
+            return false;
+        }
+        LocalDate start = FIRST_DAY.plusDays(random.nextInt(WINDOW_DAYS));
+        LocalDate end = start.plusDays(random.nextInt(5));
+        if (!occupancy.tryClaim(start, end)) {
+            return false;
+        }
+        clerk.heldStart[clerk.held] = start;
+        clerk.heldEnd[clerk.held] = end;
+        clerk.held++;
+        return true;
+    }
+}
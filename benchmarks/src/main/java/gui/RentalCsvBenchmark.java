@@ -0,0 +1,68 @@
+package gui;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Rental CSV codec, per record. Each invocation converts a batch of distinct records so
+// the JIT cannot specialise on one line; results are reported per record.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalCsvBenchmark {
+    private static final int BATCH = 1000;
+
+    // Codes are interned per record, so the dictionary size affects parsing too
+    @Param({"100", "100000"})
+    public int members;
+
+    private String[] lines;
+    private Rental[] rentals;
+
+    @Setup
+    public void setUp() {
+        lines = new String[BATCH];
+        rentals = new Rental[BATCH];
+        Random random = new Random(42);
+        for (int i = 0; i < BATCH; i++) {
+            LocalDate rentalDate = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+            rentals[i] = new Rental(String.format("R%03d", i + 1), BenchmarkData.memberId(random.nextInt(members)),
+                BenchmarkData.costumeId(random.nextInt(200)), BenchmarkData.SIZES[random.nextInt(3)],
+                rentalDate, rentalDate.plusDays(random.nextInt(7)), null,
+                120.0, 40.0, 0.0, Rental.RentalStatus.RESERVED);
+            lines[i] = rentals[i].toCsvString();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void fromCsvString(Blackhole blackhole) {
+        for (String line : lines) {
+            blackhole.consume(Rental.fromCsvString(line));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void toCsvString(Blackhole blackhole) {
+        for (Rental rental : rentals) {
+            blackhole.consume(rental.toCsvString());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package gui;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Full rewrite of rentals.csv under the data directory lock. RentalService keeps its
+// rentals in static state, so every parameter value needs its own fork (JMH's default).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalServiceBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int rentals;
+
+    private RentalService rentalService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        BenchmarkData.write(200, 1000, rentals);
+        rentalService = new RentalService();
+    }
+
+    @Benchmark
+    public void saveRentals() {
+        rentalService.saveRentals();
+    }
+}
@@ -1,5 +1,7 @@
+import gui.BookingApiServer;
 import gui.Costume; 
 import gui.CostumeDataManager;
+import gui.EdtWatchdog;
 import gui.LoginFrame;
 import java.util.List;
 import javax.swing.SwingUtilities;
@@ -13,6 +15,18 @@ public class Main {
         allCostumes = dataManager.loadCostumes();
 
         System.out.println("Loaded " + allCostumes.size() + " costumes.");
+
+        // Headless mode: serve the booking API instead of opening the GUI
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : BookingApiServer.DEFAULT_PORT;
+            try {
+                new BookingApiServer(port).start();
+            } catch (java.io.IOException e) {
+                System.err.println("Could not start booking API: " + e.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
         
         // Set system look and feel for better appearance
         try {
@@ -21,6 +35,9 @@ public class Main {
             System.err.println("Could not set system look and feel: " + e.getMessage());
         }
         
+        // Report event dispatches that freeze the UI (-Drental.edt.stallMillis)
+        EdtWatchdog.install();
+
         // Launch the application on EDT (Event Dispatch Thread)
         SwingUtilities.invokeLater(new Runnable() {
             @Override
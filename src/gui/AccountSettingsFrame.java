@@ -37,16 +37,18 @@ public class AccountSettingsFrame extends JFrame {
     }
 
     private void loadMemberData() {
-        try {
-            currentMemberData = fileIO.getMemberData(currentMemberId);
-            if (currentMemberData == null) {
-                showErrorMessage("Failed to load member data.");
+        ReadScope.run("AccountSettingsFrame.loadMemberData", () -> {
+            try {
+                currentMemberData = fileIO.getMemberData(currentMemberId);
+                if (currentMemberData == null) {
+                    showErrorMessage("Failed to load member data.");
+                    this.dispose();
+                }
+            } catch (Exception e) {
+                showErrorMessage("Error loading member data: " + e.getMessage());
                 this.dispose();
             }
-        } catch (Exception e) {
-            showErrorMessage("Error loading member data: " + e.getMessage());
-            this.dispose();
-        }
+        });
     }
 
     private void initializeComponents() {
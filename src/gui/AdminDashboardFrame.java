@@ -28,7 +28,7 @@ public class AdminDashboardFrame extends JFrame {
 
         // Main panel (for buttons)
         JPanel mainPanel = new JPanel();
-        mainPanel.setLayout(new GridLayout(3, 1, 20, 20));
+        mainPanel.setLayout(new GridLayout(4, 1, 20, 20));
         mainPanel.setBorder(new EmptyBorder(20, 50, 20, 50));
 
         // Management buttons
@@ -46,6 +46,11 @@ public class AdminDashboardFrame extends JFrame {
         rentalButton.addActionListener(e -> new AllRentalsFrame().setVisible(true));
         setupButtonStyle(rentalButton);
         mainPanel.add(rentalButton);
+
+        JButton analyticsButton = new JButton("Revenue Analytics");
+        analyticsButton.addActionListener(e -> new RevenueAnalyticsFrame().setVisible(true));
+        setupButtonStyle(analyticsButton);
+        mainPanel.add(analyticsButton);
         
         add(mainPanel, BorderLayout.CENTER);
 
@@ -75,9 +80,10 @@ public class AdminDashboardFrame extends JFrame {
     }
 
     private void updateStats() {
+        InventorySnapshot snapshot = InventoryState.getInstance().current();
         int memberCount = fileIO.getRegistrationCount();
-        int costumeCount = fileIO.getAvailableCostumesCount(); 
-        int activeRentals = fileIO.getActiveRentalsCount(); 
+        int costumeCount = snapshot.getCatalogSize(); 
+        int activeRentals = snapshot.getCurrentlyRentedCount(); 
         
         statsLabel.setText(String.format(
             "<html><b>System Status:</b><br>" +
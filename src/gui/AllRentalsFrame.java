@@ -43,24 +43,26 @@ public class AllRentalsFrame extends JFrame {
     }
 
     private void loadRentals() {
-        tableModel.setRowCount(0); // Clear table
-        rentalService.updateAllRentalStatuses(); // Update statuses before loading
-        List<Rental> rentals = rentalService.getAllRentals();
+        ReadScope.run("AllRentalsFrame.loadRentals", () -> {
+            tableModel.setRowCount(0); // Clear table
+            rentalService.updateAllRentalStatuses(); // Update statuses before loading
+            List<Rental> rentals = rentalService.getAllRentals();
         
-        for (Rental rental : rentals) {
-            Object[] row = {
-                rental.getRentalId(),
-                rental.getMemberId(),
-                rental.getCostumeId(),
-                rental.getSize(),
-                rental.getFormattedRentalDate(),
-                rental.getFormattedReturnDate(),
-                rental.getFormattedActualReturnDate(),
-                rental.getStatus().getDisplayName(),
-                String.format("%.2f", rental.getTotalCost()),
-                String.format("%.2f", rental.getLateFee())
-            };
-            tableModel.addRow(row);
-        }
+            for (Rental rental : rentals) {
+                Object[] row = {
+                    rental.getRentalId(),
+                    rental.getMemberId(),
+                    rental.getCostumeId(),
+                    rental.getSize(),
+                    rental.getFormattedRentalDate(),
+                    rental.getFormattedReturnDate(),
+                    rental.getFormattedActualReturnDate(),
+                    rental.getStatus().getDisplayName(),
+                    String.format("%.2f", rental.getTotalCost()),
+                    String.format("%.2f", rental.getLateFee())
+                };
+                tableModel.addRow(row);
+            }
+        });
     }
 }
\ No newline at end of file
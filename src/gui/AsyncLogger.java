@@ -0,0 +1,325 @@
+package gui;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+// Asynchronous logger for the service layer's hot paths. Callers never format or write:
+// a message is a template with "{}" placeholders plus up to five arguments, copied into a
+// preallocated slot of a bounded lock-free ring buffer. A background thread formats the
+// messages and appends them to a rolling log file, so a slow console or disk never blocks
+// a booking. Messages below the level (or that find the buffer full) are dropped without
+// any formatting; drops are counted and reported in the log.
+//
+// Arguments are formatted later on the writer thread, so pass immutable values (IDs, dates,
+// numbers), not objects that may still change.
+//
+// Settings: rental.log.level (DEBUG, INFO, WARN, ERROR; default INFO),
+// rental.log.file (default gui/logs/rental.log), rental.log.maxBytes per file (default 10 MB),
+// rental.log.files kept (default 5), rental.log.bufferSize (default 8192 messages),
+// rental.log.console (default true: also echo to stdout, WARN and ERROR to stderr).
+public final class AsyncLogger {
+    public enum Level { DEBUG, INFO, WARN, ERROR }
+
+    private static final Level LEVEL = Level.valueOf(System.getProperty("rental.log.level", "INFO").toUpperCase());
+    private static final Path LOG_FILE = Paths.get(System.getProperty("rental.log.file", "gui/logs/rental.log"));
+    private static final long MAX_FILE_BYTES = Long.getLong("rental.log.maxBytes", 10L * 1024 * 1024);
+    private static final int MAX_FILES = Integer.getInteger("rental.log.files", 5);
+    private static final boolean CONSOLE = Boolean.parseBoolean(System.getProperty("rental.log.console", "true"));
+    private static final long IDLE_PARK_NANOS = 5_000_000;
+
+    private static final AsyncLogger instance = new AsyncLogger(Integer.getInteger("rental.log.bufferSize", 8192));
+
+    // One ring slot, reused; its fields are published by the slot's sequence number
+    private static final class Entry {
+        Level level;
+        long timeMillis;
+        String thread;
+        String template;
+        Object arg0, arg1, arg2, arg3, arg4;
+    }
+
+    // Bounded multi-producer ring (after Vyukov's MPMC queue). sequence[i] == position means
+    // slot i is free for the producer claiming that position; position + 1 means it holds a
+    // message for the consumer.
+    private final Entry[] entries;
+    private final AtomicLongArray sequence;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head; // writer thread only
+    private volatile long written; // head as of the last file flush
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread writerThread;
+    private volatile boolean writerParked;
+
+    private Writer out;
+    private long fileBytes;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private AsyncLogger(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        entries = new Entry[capacity];
+        sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            entries[i] = new Entry();
+            sequence.set(i, i);
+        }
+        mask = capacity - 1;
+
+        writerThread = new Thread(this::runWriter, "async-logger");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(AsyncLogger::flush, "async-logger-shutdown"));
+        } catch (IllegalStateException e) {
+            // First used during shutdown; the hook that logs has to call flush() itself
+        }
+    }
+
+    public static boolean isEnabled(Level level) {
+        return level.compareTo(LEVEL) >= 0;
+    }
+
+    // No varargs, so a disabled call allocates nothing
+    public static void debug(String message) {
+        if (isEnabled(Level.DEBUG)) instance.publish(Level.DEBUG, message, null, null, null, null, null);
+    }
+
+    public static void debug(String template, Object arg0) {
+        if (isEnabled(Level.DEBUG)) instance.publish(Level.DEBUG, template, arg0, null, null, null, null);
+    }
+
+    public static void debug(String template, Object arg0, Object arg1) {
+        if (isEnabled(Level.DEBUG)) instance.publish(Level.DEBUG, template, arg0, arg1, null, null, null);
+    }
+
+    public static void debug(String template, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.DEBUG)) instance.publish(Level.DEBUG, template, arg0, arg1, arg2, null, null);
+    }
+
+    public static void info(String message) {
+        if (isEnabled(Level.INFO)) instance.publish(Level.INFO, message, null, null, null, null, null);
+    }
+
+    public static void info(String template, Object arg0) {
+        if (isEnabled(Level.INFO)) instance.publish(Level.INFO, template, arg0, null, null, null, null);
+    }
+
+    public static void info(String template, Object arg0, Object arg1) {
+        if (isEnabled(Level.INFO)) instance.publish(Level.INFO, template, arg0, arg1, null, null, null);
+    }
+
+    public static void info(String template, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.INFO)) instance.publish(Level.INFO, template, arg0, arg1, arg2, null, null);
+    }
+
+    public static void info(String template, Object arg0, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.INFO)) instance.publish(Level.INFO, template, arg0, arg1, arg2, arg3, null);
+    }
+
+    public static void info(String template, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (isEnabled(Level.INFO)) instance.publish(Level.INFO, template, arg0, arg1, arg2, arg3, arg4);
+    }
+
+    public static void warn(String message) {
+        if (isEnabled(Level.WARN)) instance.publish(Level.WARN, message, null, null, null, null, null);
+    }
+
+    public static void warn(String template, Object arg0) {
+        if (isEnabled(Level.WARN)) instance.publish(Level.WARN, template, arg0, null, null, null, null);
+    }
+
+    public static void warn(String template, Object arg0, Object arg1) {
+        if (isEnabled(Level.WARN)) instance.publish(Level.WARN, template, arg0, arg1, null, null, null);
+    }
+
+    public static void warn(String template, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.WARN)) instance.publish(Level.WARN, template, arg0, arg1, arg2, null, null);
+    }
+
+    public static void warn(String template, Object arg0, Object arg1, Object arg2, Object arg3) {
+        if (isEnabled(Level.WARN)) instance.publish(Level.WARN, template, arg0, arg1, arg2, arg3, null);
+    }
+
+    public static void warn(String template, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4) {
+        if (isEnabled(Level.WARN)) instance.publish(Level.WARN, template, arg0, arg1, arg2, arg3, arg4);
+    }
+
+    public static void error(String message) {
+        if (isEnabled(Level.ERROR)) instance.publish(Level.ERROR, message, null, null, null, null, null);
+    }
+
+    public static void error(String template, Object arg0) {
+        if (isEnabled(Level.ERROR)) instance.publish(Level.ERROR, template, arg0, null, null, null, null);
+    }
+
+    public static void error(String template, Object arg0, Object arg1) {
+        if (isEnabled(Level.ERROR)) instance.publish(Level.ERROR, template, arg0, arg1, null, null, null);
+    }
+
+    public static void error(String template, Object arg0, Object arg1, Object arg2) {
+        if (isEnabled(Level.ERROR)) instance.publish(Level.ERROR, template, arg0, arg1, arg2, null, null);
+    }
+
+    // Messages lost because the buffer was full
+    public static long getDroppedCount() {
+        return instance.dropped.get();
+    }
+
+    // Wait until everything logged so far is in the file. Runs on shutdown; other shutdown
+    // hooks that log must call it themselves, as hooks run in no particular order.
+    public static void flush() {
+        long target = instance.tail.get();
+        while (instance.written < target && instance.writerThread.isAlive()) {
+            LockSupport.unpark(instance.writerThread);
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    private void publish(Level level, String template, Object arg0, Object arg1, Object arg2, Object arg3, Object arg4) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long available = sequence.get((int) position & mask);
+            if (available == position) {
+                if (tail.compareAndSet(position, position + 1)) break;
+            } else if (available < position) {
+                dropped.incrementAndGet(); // Full: the writer has not freed this slot yet
+                return;
+            }
+            // Another producer claimed this position first; retry with the new tail
+        }
+        Entry entry = entries[(int) position & mask];
+        entry.level = level;
+        entry.timeMillis = System.currentTimeMillis();
+        entry.thread = Thread.currentThread().getName();
+        entry.template = template;
+        entry.arg0 = arg0;
+        entry.arg1 = arg1;
+        entry.arg2 = arg2;
+        entry.arg3 = arg3;
+        entry.arg4 = arg4;
+        sequence.set((int) position & mask, position + 1);
+        if (writerParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    private void runWriter() {
+        long reportedDrops = 0;
+        while (true) {
+            boolean wroteAny = false;
+            while (true) {
+                int index = (int) head & mask;
+                if (sequence.get(index) != head + 1) break;
+                Entry entry = entries[index];
+                write(entry.level, entry.timeMillis, entry.thread, format(entry));
+                entry.template = null;
+                entry.arg0 = entry.arg1 = entry.arg2 = entry.arg3 = entry.arg4 = null;
+                sequence.set(index, head + mask + 1);
+                head++;
+                wroteAny = true;
+            }
+            long drops = dropped.get();
+            if (drops != reportedDrops) {
+                write(Level.WARN, System.currentTimeMillis(), writerThread.getName(),
+                      (drops - reportedDrops) + " log messages dropped (buffer full)");
+                reportedDrops = drops;
+                wroteAny = true;
+            }
+            if (wroteAny) {
+                flushFile();
+                written = head;
+                continue;
+            }
+            written = head;
+            writerParked = true;
+            if (sequence.get((int) head & mask) != head + 1) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            writerParked = false;
+        }
+    }
+
+    private String format(Entry entry) {
+        String template = entry.template;
+        Object[] args = {entry.arg0, entry.arg1, entry.arg2, entry.arg3, entry.arg4};
+        line.setLength(0);
+        int argIndex = 0;
+        int from = 0;
+        int at;
+        while (argIndex < args.length && (at = template.indexOf("{}", from)) >= 0) {
+            line.append(template, from, at).append(args[argIndex++]);
+            from = at + 2;
+        }
+        line.append(template, from, template.length());
+        return line.toString();
+    }
+
+    private void write(Level level, long timeMillis, String thread, String message) {
+        if (CONSOLE) {
+            (level.compareTo(Level.WARN) >= 0 ? System.err : System.out).println(message);
+        }
+        String text = LocalDateTime.ofInstant(Instant.ofEpochMilli(timeMillis), ZoneId.systemDefault())
+                      + " " + level + " [" + thread + "] " + message + System.lineSeparator();
+        try {
+            if (out == null || fileBytes >= MAX_FILE_BYTES) {
+                rollFile();
+            }
+            out.write(text);
+            fileBytes += text.length(); // chars; close enough for rolling
+        } catch (IOException e) {
+            System.err.println("Error writing log file " + LOG_FILE + ": " + e.getMessage());
+            closeFile();
+        }
+    }
+
+    // Keeps rental.log.1 .. rental.log.<files - 1> from earlier rolls
+    private void rollFile() throws IOException {
+        closeFile();
+        Path directory = LOG_FILE.toAbsolutePath().getParent();
+        if (directory != null) Files.createDirectories(directory);
+        if (Files.exists(LOG_FILE) && Files.size(LOG_FILE) >= MAX_FILE_BYTES) {
+            for (int i = MAX_FILES - 1; i >= 1; i--) {
+                Path older = Paths.get(LOG_FILE + "." + i);
+                Path source = i == 1 ? LOG_FILE : Paths.get(LOG_FILE + "." + (i - 1));
+                if (Files.exists(source)) {
+                    Files.move(source, older, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        fileBytes = Files.exists(LOG_FILE) ? Files.size(LOG_FILE) : 0;
+        out = Files.newBufferedWriter(LOG_FILE, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void flushFile() {
+        if (out == null) return;
+        try {
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Error writing log file " + LOG_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void closeFile() {
+        if (out == null) return;
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Error closing log file " + LOG_FILE + ": " + e.getMessage());
+        }
+        out = null;
+    }
+}
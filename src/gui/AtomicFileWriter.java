@@ -0,0 +1,138 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Crash-safe replacement of the CSV data files.
+// Every write goes to a temp file in the same directory, is forced to disk and then
+// renamed over the live file, so a crash leaves either the old or the new content.
+// The rename itself only becomes durable once the directory is fsynced; those syncs
+// are batched on a background thread so a burst of saves pays for one directory fsync.
+public class AtomicFileWriter {
+    private static final long DIRECTORY_SYNC_DELAY_MS = 50;
+
+    private static final Set<Path> pendingDirectories = new LinkedHashSet<>();
+    private static Thread syncThread;
+
+    static {
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(AtomicFileWriter::flush, "directory-sync-shutdown"));
+        } catch (IllegalStateException e) {
+            // First used from another shutdown hook; that hook has to call flush() itself
+        }
+    }
+
+    private AtomicFileWriter() {
+    }
+
+    public static void writeLines(Path target, List<String> lines) throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (String line : lines) {
+            content.append(line).append(System.lineSeparator());
+        }
+        write(target, content.toString().getBytes(StandardCharsets.UTF_8), lines.size());
+    }
+
+    public static void write(Path target, byte[] content) throws IOException {
+        write(target, content, -1);
+    }
+
+    private static void write(Path target, byte[] content, int records) throws IOException {
+        DataEvents.FileWrite event = new DataEvents.FileWrite();
+        event.begin();
+        Path absoluteTarget = target.toAbsolutePath();
+        Path directory = absoluteTarget.getParent();
+        if (directory != null && !Files.exists(directory)) {
+            Files.createDirectories(directory);
+        }
+
+        // Not Files.createTempFile: that would give the data file owner-only permissions
+        Path tempFile = directory.resolve(absoluteTarget.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            moveIntoPlace(tempFile, absoluteTarget);
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+
+        MetricsRegistry.getInstance().recordFileWrite(absoluteTarget, content.length);
+        requestDirectorySync(directory);
+        if (event.shouldCommit()) {
+            event.file = DataEvents.fileName(absoluteTarget);
+            event.records = records;
+            event.bytes = content.length;
+            event.commit();
+        }
+    }
+
+    private static void moveIntoPlace(Path tempFile, Path target) throws IOException {
+        try {
+            Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Some file systems cannot rename atomically; fall back to a plain replace
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Queue a directory for fsync; the background thread coalesces requests that arrive
+    // within DIRECTORY_SYNC_DELAY_MS of each other
+    private static synchronized void requestDirectorySync(Path directory) {
+        if (directory == null) return;
+        pendingDirectories.add(directory);
+        if (syncThread == null) {
+            syncThread = new Thread(AtomicFileWriter::runDirectorySync, "directory-sync");
+            syncThread.setDaemon(true);
+            syncThread.start();
+        }
+    }
+
+    private static void runDirectorySync() {
+        try {
+            Thread.sleep(DIRECTORY_SYNC_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    // Sync every pending directory now. Called on shutdown so queued renames are not lost.
+    public static void flush() {
+        Set<Path> directories;
+        synchronized (AtomicFileWriter.class) {
+            directories = new LinkedHashSet<>(pendingDirectories);
+            pendingDirectories.clear();
+            if (syncThread == Thread.currentThread()) {
+                syncThread = null;
+            }
+        }
+        for (Path directory : directories) {
+            syncDirectory(directory);
+        }
+    }
+
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Not every platform allows opening a directory (e.g. Windows); the rename is still atomic there
+        }
+    }
+}
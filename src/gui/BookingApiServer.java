@@ -0,0 +1,444 @@
+package gui;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Headless HTTP/JSON API over the same in-memory inventory the Swing screens use,
+// for the web storefront and kiosks. Started with: java Main --server [port]
+//
+//   GET  /api/costumes?q=&event=&size=        catalog search
+//   GET  /api/costumes/{id}
+//   GET  /api/availability?costumeId=&size=&start=&end=
+//   GET  /api/rentals?memberId=               rentals of one member
+//   GET  /api/rentals/{id}
+//   POST /api/rentals                         {"memberId","costumeId","size","startDate","endDate"}
+//   POST /api/rentals/{id}/return             optional {"returnDate"}
+//   POST /api/rentals/{id}/cancel
+//   GET  /api/members/{id}
+//
+// Each request runs on its own virtual thread when the JDK supports them (Java 21+),
+// otherwise on a cached thread pool.
+public class BookingApiServer {
+    public static final int DEFAULT_PORT = 8080;
+    private static final int BACKLOG = 4096;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final RentalService rentalService = new RentalService();
+    private final InventoryState inventory = InventoryState.getInstance();
+    private final FileIO fileIO = FileIO.getInstance();
+
+    public BookingApiServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/costumes", this::handleCostumes);
+        server.createContext("/api/availability", this::handleAvailability);
+        server.createContext("/api/rentals", this::handleRentals);
+        server.createContext("/api/members", this::handleMembers);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Booking API listening on http://localhost:" + getPort() + "/api/");
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    static ExecutorService newRequestExecutor() {
+        try {
+            Method virtualThreads = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtualThreads.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            System.out.println("Virtual threads not available; using a cached thread pool");
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "api-request");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    // Handlers
+
+    private void handleCostumes(HttpExchange exchange) throws IOException {
+        handle(exchange, () -> {
+            requireMethod(exchange, "GET");
+            String id = pathId(exchange, "/api/costumes");
+            InventorySnapshot snapshot = inventory.current();
+            if (id != null) {
+                Costume costume = snapshot.getCostume(id);
+                if (costume == null) throw new ApiException(404, "Costume not found: " + id);
+                return costumeJson(costume);
+            }
+
+            // Same name index and facet bitsets as the search screen
+            Map<String, String> query = queryParameters(exchange);
+            String event = query.get("event");
+            String size = query.get("size");
+            CostumeFacets facets = snapshot.getFacets();
+            BitSet matches = snapshot.matchText(query.getOrDefault("q", ""));
+            if (event != null) {
+                matches.and(eventFacet(facets, event));
+            }
+            if (size != null) {
+                matches.and(facets.size(size));
+            }
+            List<String> results = new ArrayList<>();
+            for (Costume costume : snapshot.getCostumes(matches)) {
+                // The size facet lists every offered size; only sizes with stock count here
+                if (size != null && !costume.hasSize(size)) continue;
+                results.add(costumeJson(costume));
+            }
+            return "[" + String.join(",", results) + "]";
+        });
+    }
+
+    // Costumes of the event named (case-insensitively); none for an unknown event
+    private static BitSet eventFacet(CostumeFacets facets, String event) {
+        for (CostumeEvent candidate : CostumeEvent.values()) {
+            if (candidate.name().equalsIgnoreCase(event)) {
+                return facets.event(candidate);
+            }
+        }
+        return new BitSet();
+    }
+
+    private void handleAvailability(HttpExchange exchange) throws IOException {
+        handle(exchange, () -> {
+            requireMethod(exchange, "GET");
+            Map<String, String> query = queryParameters(exchange);
+            String costumeId = required(query, "costumeId");
+            String size = required(query, "size");
+            LocalDate start = parseDate(required(query, "start"));
+            LocalDate end = parseDate(query.getOrDefault("end", start.toString()));
+            if (end.isBefore(start)) throw new ApiException(400, "end is before start");
+
+            InventorySnapshot snapshot = inventory.current();
+            if (snapshot.getCostume(costumeId) == null) throw new ApiException(404, "Costume not found: " + costumeId);
+            List<String> days = new ArrayList<>();
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                days.add("{\"date\":" + quote(date.toString())
+                         + ",\"available\":" + snapshot.getAvailableStock(costumeId, size, date) + "}");
+            }
+            return "{\"costumeId\":" + quote(costumeId) + ",\"size\":" + quote(size)
+                   + ",\"stock\":" + snapshot.getStock(costumeId, size)
+                   + ",\"available\":" + snapshot.isStockAvailableForPeriod(costumeId, size, start, end)
+                   + ",\"days\":[" + String.join(",", days) + "]}";
+        });
+    }
+
+    private void handleRentals(HttpExchange exchange) throws IOException {
+        handle(exchange, () -> {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+
+            if (path.matches("/api/rentals/?")) {
+                if ("POST".equals(method)) {
+                    return createRental(readJsonObject(exchange), exchange);
+                }
+                requireMethod(exchange, "GET");
+                String memberId = required(queryParameters(exchange), "memberId");
+                List<String> rentals = new ArrayList<>();
+                for (Rental rental : rentalService.getRentalsByMemberId(memberId)) {
+                    rentals.add(rentalJson(rental));
+                }
+                return "[" + String.join(",", rentals) + "]";
+            }
+
+            String[] parts = path.substring("/api/rentals/".length()).split("/");
+            Rental rental = rentalService.findRentalById(parts[0]);
+            if (rental == null) throw new ApiException(404, "Rental not found: " + parts[0]);
+            if (parts.length == 1) {
+                requireMethod(exchange, "GET");
+                return rentalJson(rental);
+            }
+
+            requireMethod(exchange, "POST");
+            switch (parts[1]) {
+                case "return": {
+                    Map<String, String> body = readJsonObject(exchange);
+                    LocalDate returnDate = body.containsKey("returnDate") ? parseDate(body.get("returnDate")) : RentalClock.today();
+                    if (!rentalService.returnRental(rental.getRentalId(), returnDate)) {
+                        throw new ApiException(409, "Rental cannot be returned in status " + rental.getStatus().name());
+                    }
+                    return rentalJson(rental);
+                }
+                case "cancel":
+                    if (!rentalService.cancelRental(rental.getRentalId())) {
+                        throw new ApiException(409, "Rental cannot be cancelled in status " + rental.getStatus().name());
+                    }
+                    return rentalJson(rental);
+                default:
+                    throw new ApiException(404, "Unknown action: " + parts[1]);
+            }
+        });
+    }
+
+    private String createRental(Map<String, String> body, HttpExchange exchange) throws ApiException {
+        String memberId = required(body, "memberId");
+        String costumeId = required(body, "costumeId");
+        String size = required(body, "size");
+        LocalDate startDate = parseDate(required(body, "startDate"));
+        LocalDate endDate = parseDate(required(body, "endDate"));
+        if (endDate.isBefore(startDate)) throw new ApiException(400, "endDate is before startDate");
+
+        if (!fileIO.isMemberIdExists(memberId)) throw new ApiException(404, "Member not found: " + memberId);
+        Costume costume = inventory.current().getCostume(costumeId);
+        if (costume == null) throw new ApiException(404, "Costume not found: " + costumeId);
+
+        // Same pricing as RentalFrame: the costume price is the daily rate
+        double totalCost = costume.getPrice() * RentalService.calculateRentalDays(startDate, endDate);
+        Rental rental = rentalService.reserveRental(memberId, costumeId, size, startDate, endDate, totalCost);
+        if (rental == null) throw new ApiException(409, "Not available for the selected period");
+
+        exchange.getResponseHeaders().set("Location", "/api/rentals/" + rental.getRentalId());
+        statusOverride.set(201);
+        return rentalJson(rental);
+    }
+
+    private void handleMembers(HttpExchange exchange) throws IOException {
+        handle(exchange, () -> {
+            requireMethod(exchange, "GET");
+            String id = pathId(exchange, "/api/members");
+            if (id == null) throw new ApiException(400, "Member ID required");
+            FileIO.MemberData member = fileIO.getMemberData(id);
+            if (member == null) throw new ApiException(404, "Member not found: " + id);
+            // Never expose the password
+            return "{\"memberId\":" + quote(member.getMemberId()) + ",\"name\":" + quote(member.getName())
+                   + ",\"email\":" + quote(member.getEmail()) + ",\"phone\":" + quote(member.getPhone())
+                   + ",\"address\":" + quote(member.getAddress())
+                   + ",\"registrationDate\":" + quote(member.getRegistrationDate()) + "}";
+        });
+    }
+
+    // Request plumbing
+
+    private interface ApiCall {
+        String run() throws ApiException, IOException;
+    }
+
+    static class ApiException extends Exception {
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    // Lets a handler answer 201 instead of 200 without threading the status through every method
+    private final ThreadLocal<Integer> statusOverride = new ThreadLocal<>();
+
+    private void handle(HttpExchange exchange, ApiCall call) throws IOException {
+        int status;
+        String body;
+        try {
+            statusOverride.remove();
+            // A strict read-budget failure ends up in the 500 branch below
+            body = ReadScope.call(exchange.getRequestMethod() + " " + exchange.getHttpContext().getPath(), call::run);
+            status = statusOverride.get() != null ? statusOverride.get() : 200;
+        } catch (ApiException e) {
+            status = e.status;
+            body = "{\"error\":" + quote(e.getMessage()) + "}";
+        } catch (Exception e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e.getMessage());
+            status = 500;
+            body = "{\"error\":\"Internal error\"}";
+        } finally {
+            statusOverride.remove();
+        }
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) throws ApiException {
+        if (!method.equals(exchange.getRequestMethod())) {
+            throw new ApiException(405, "Method not allowed: " + exchange.getRequestMethod());
+        }
+    }
+
+    private static String pathId(HttpExchange exchange, String prefix) {
+        String path = exchange.getRequestURI().getPath();
+        if (path.length() <= prefix.length() + 1) return null;
+        return URLDecoder.decode(path.substring(prefix.length() + 1), StandardCharsets.UTF_8);
+    }
+
+    private static String required(Map<String, String> values, String name) throws ApiException {
+        String value = values.get(name);
+        if (value == null || value.trim().isEmpty()) throw new ApiException(400, "Missing parameter: " + name);
+        return value.trim();
+    }
+
+    private static LocalDate parseDate(String value) throws ApiException {
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Invalid date (expected yyyy-MM-dd): " + value);
+        }
+    }
+
+    private static Map<String, String> queryParameters(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) return parameters;
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals <= 0) continue;
+            parameters.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                           URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    // Reads a flat JSON object of string/number values, which is all the API accepts
+    private static Map<String, String> readJsonObject(HttpExchange exchange) throws IOException, ApiException {
+        String text;
+        try (InputStream in = exchange.getRequestBody()) {
+            text = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+        Map<String, String> values = new HashMap<>();
+        if (text.isEmpty()) return values;
+        if (!text.startsWith("{") || !text.endsWith("}")) throw new ApiException(400, "Expected a JSON object");
+
+        int i = 1;
+        int end = text.length() - 1;
+        while (i < end) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == ',') { i++; continue; }
+            if (c != '"') throw new ApiException(400, "Malformed JSON at position " + i);
+            StringBuilder key = new StringBuilder();
+            i = readString(text, i, key);
+            while (i < end && (Character.isWhitespace(text.charAt(i)) || text.charAt(i) == ':')) i++;
+            StringBuilder value = new StringBuilder();
+            if (i < end && text.charAt(i) == '"') {
+                i = readString(text, i, value);
+            } else {
+                while (i < end && text.charAt(i) != ',' && !Character.isWhitespace(text.charAt(i))) {
+                    value.append(text.charAt(i++));
+                }
+            }
+            values.put(key.toString(), value.toString());
+        }
+        return values;
+    }
+
+    private static int readString(String text, int start, StringBuilder out) throws ApiException {
+        int i = start + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i++);
+            if (c == '"') return i;
+            if (c == '\\') {
+                if (i == text.length()) break;
+                char escaped = text.charAt(i++);
+                switch (escaped) {
+                    case '"': out.append('"'); break;
+                    case '\\': out.append('\\'); break;
+                    case '/': out.append('/'); break;
+                    case 'b': out.append('\b'); break;
+                    case 'f': out.append('\f'); break;
+                    case 'n': out.append('\n'); break;
+                    case 'r': out.append('\r'); break;
+                    case 't': out.append('\t'); break;
+                    case 'u':
+                        if (i + 4 > text.length()) throw new ApiException(400, "Truncated \\u escape in JSON string");
+                        int code = 0;
+                        for (int digit = 0; digit < 4; digit++) {
+                            int value = Character.digit(text.charAt(i++), 16);
+                            if (value < 0) throw new ApiException(400, "Invalid \\u escape in JSON string");
+                            code = code * 16 + value;
+                        }
+                        out.append((char) code);
+                        break;
+                    default:
+                        throw new ApiException(400, "Invalid escape \\" + escaped + " in JSON string");
+                }
+            } else {
+                out.append(c);
+            }
+        }
+        throw new ApiException(400, "Unterminated JSON string");
+    }
+
+    // JSON output
+
+    static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder out = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    // Always a '.' decimal point, whatever the default locale
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String costumeJson(Costume costume) {
+        List<String> sizes = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : costume.getSizeStock().entrySet()) {
+            sizes.add(quote(entry.getKey()) + ":" + entry.getValue());
+        }
+        return "{\"costumeId\":" + quote(costume.getCostumeId()) + ",\"name\":" + quote(costume.getCostumeName())
+               + ",\"event\":" + quote(costume.getEvent().name()) + ",\"eventName\":" + quote(costume.getEventDisplayName())
+               + ",\"price\":" + amount(costume.getPrice())
+               + ",\"sizes\":{" + String.join(",", sizes) + "}"
+               + ",\"imagePath\":" + quote(costume.getImagePath()) + "}";
+    }
+
+    private static String rentalJson(Rental rental) {
+        return "{\"rentalId\":" + quote(rental.getRentalId()) + ",\"memberId\":" + quote(rental.getMemberId())
+               + ",\"costumeId\":" + quote(rental.getCostumeId()) + ",\"size\":" + quote(rental.getSize())
+               + ",\"startDate\":" + quote(rental.getRentalDate().toString())
+               + ",\"endDate\":" + quote(rental.getReturnDate().toString())
+               + ",\"actualReturnDate\":" + (rental.getActualReturnDate() == null ? "null" : quote(rental.getActualReturnDate().toString()))
+               + ",\"status\":" + quote(rental.getStatus().name())
+               + ",\"totalCost\":" + amount(rental.getTotalCost())
+               + ",\"lateFee\":" + amount(rental.getLateFee()) + "}";
+    }
+}
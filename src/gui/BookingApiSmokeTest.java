@@ -0,0 +1,213 @@
+package gui;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// End-to-end check of BookingApiServer over localhost.
+// Starts the server on an ephemeral port (port 0, read back with getPort()), calls every
+// endpoint with java.net.http.HttpClient and compares the answers with the in-memory
+// inventory: catalog search with text/event/size filters, 404s, availability, booking,
+// lookup and cancellation of a rental, malformed JSON escapes (400) and member details.
+//
+// It books into the data files of the working directory, so run it on a copy, e.g.
+//   java gui.SyntheticDataGenerator /tmp/api/gui 200 500 2000
+//   cd /tmp/api && java -cp <classes> gui.BookingApiSmokeTest
+// Prints one line per check and exits with 1 if any check failed.
+public class BookingApiSmokeTest {
+    private static final Pattern COSTUME_ID = Pattern.compile("\"costumeId\":\"([^\"]*)\"");
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private int failures;
+
+    private BookingApiSmokeTest(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Files.exists(Paths.get("gui", "FileIO.java"))) {
+            System.err.println("Refusing to book into the data files in the source directory; run on a copy");
+            System.exit(1);
+        }
+        BookingApiServer server = new BookingApiServer(0);
+        server.start();
+        int failures;
+        try {
+            BookingApiSmokeTest test = new BookingApiSmokeTest(server.getPort());
+            test.run();
+            failures = test.failures;
+        } finally {
+            server.stop();
+        }
+        System.out.println(failures == 0 ? "All checks passed" : failures + " check(s) failed");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private void run() throws IOException, InterruptedException {
+        InventorySnapshot snapshot = InventoryState.getInstance().current();
+        List<Costume> catalog = snapshot.getCostumes();
+        if (catalog.isEmpty()) {
+            check("catalog has costumes", false, "no costumes in gui/costumes.csv");
+            return;
+        }
+
+        // Catalog search
+        HttpResponse<String> response = get("/api/costumes");
+        check("GET /api/costumes lists the catalog", response.statusCode() == 200
+              && costumeIds(response.body()).equals(ids(catalog)), response.statusCode() + " " + abbreviate(response.body()));
+        check("prices use a '.' decimal point", response.body().matches("(?s).*\"price\":\\d+\\.\\d\\d[,}].*"),
+              abbreviate(response.body()));
+
+        Costume sample = catalog.get(catalog.size() / 2);
+        String word = sample.getCostumeName().trim().split("\\s+")[0].toLowerCase();
+        String size = sample.getSizeStock().keySet().iterator().next();
+        List<String> expected = new ArrayList<>();
+        for (Costume costume : catalog) {
+            String text = (costume.getCostumeName() + "\n" + costume.getEventDisplayName()).toLowerCase();
+            if (text.contains(word) && costume.getEvent() == sample.getEvent() && costume.hasSize(size)) {
+                expected.add(costume.getCostumeId());
+            }
+        }
+        response = get("/api/costumes?q=" + encode(word) + "&event=" + sample.getEvent().name().toLowerCase()
+                       + "&size=" + encode(size));
+        check("search by text, event and size", response.statusCode() == 200
+              && costumeIds(response.body()).equals(expected), "expected " + expected + ", got " + abbreviate(response.body()));
+
+        response = get("/api/costumes?q=zzqqxx");
+        check("search without matches is empty", response.statusCode() == 200 && response.body().equals("[]"),
+              abbreviate(response.body()));
+        response = get("/api/costumes?event=no-such-event");
+        check("unknown event matches nothing", response.statusCode() == 200 && response.body().equals("[]"),
+              abbreviate(response.body()));
+        response = get("/api/costumes/" + encode(sample.getCostumeId()));
+        check("GET /api/costumes/{id}", response.statusCode() == 200
+              && costumeIds(response.body()).equals(List.of(sample.getCostumeId())), abbreviate(response.body()));
+        response = get("/api/costumes/no-such-costume");
+        check("unknown costume is 404", response.statusCode() == 404, response.statusCode() + " " + response.body());
+
+        // Booking a free SKU a month ahead, then reading and cancelling it
+        List<FileIO.MemberData> members = FileIO.getInstance().getAllMembers();
+        LocalDate start = RentalClock.today().plusDays(30);
+        LocalDate end = start.plusDays(1);
+        String[] sku = findFreeSku(snapshot, start, end);
+        if (members.isEmpty() || sku == null) {
+            check("booking data available", false, "need a member and a costume size free on " + start);
+            return;
+        }
+        String memberId = members.get(0).getMemberId();
+
+        response = get("/api/availability?costumeId=" + encode(sku[0]) + "&size=" + encode(sku[1])
+                       + "&start=" + start + "&end=" + end);
+        check("availability of a free SKU", response.statusCode() == 200
+              && response.body().contains("\"available\":true,\"days\":["), abbreviate(response.body()));
+
+        response = post("/api/rentals", "{\"memberId\":" + json(memberId) + ",\"costumeId\":" + json(sku[0])
+                        + ",\"size\":" + json(sku[1]) + ",\"startDate\":\"" + start + "\",\"endDate\":\"" + end + "\"}");
+        String location = response.headers().firstValue("Location").orElse("");
+        check("POST /api/rentals books", response.statusCode() == 201 && location.startsWith("/api/rentals/")
+              && response.body().contains("\"status\":\"RESERVED\""), response.statusCode() + " " + response.body());
+        if (response.statusCode() == 201) {
+            String rentalId = location.substring("/api/rentals/".length());
+            response = get(location);
+            check("GET /api/rentals/{id}", response.statusCode() == 200
+                  && response.body().contains("\"rentalId\":" + json(rentalId)), abbreviate(response.body()));
+            response = get("/api/rentals?memberId=" + encode(memberId));
+            check("member's rentals include the booking", response.statusCode() == 200
+                  && response.body().contains("\"rentalId\":" + json(rentalId)), abbreviate(response.body()));
+            response = post(location + "/cancel", "");
+            check("cancel a reservation", response.statusCode() == 200
+                  && response.body().contains("\"status\":\"CANCELLED\""), response.statusCode() + " " + response.body());
+            response = post(location + "/cancel", "");
+            check("cancelling twice is 409", response.statusCode() == 409, response.statusCode() + " " + response.body());
+        }
+        response = get("/api/rentals/no-such-rental");
+        check("unknown rental is 404", response.statusCode() == 404, response.statusCode() + " " + response.body());
+
+        // Malformed request bodies are client errors, not server errors
+        response = post("/api/rentals", "{\"memberId\":\"\\x\"}");
+        check("unknown JSON escape is 400", response.statusCode() == 400, response.statusCode() + " " + response.body());
+        response = post("/api/rentals", "{\"memberId\":\"\\u00");
+        check("truncated \\u escape is 400", response.statusCode() == 400, response.statusCode() + " " + response.body());
+        response = post("/api/rentals", "{\"memberId\":\"\\u00zz\"}");
+        check("non-hex \\u escape is 400", response.statusCode() == 400, response.statusCode() + " " + response.body());
+
+        response = get("/api/members/" + encode(memberId));
+        check("GET /api/members/{id} hides the password", response.statusCode() == 200
+              && response.body().contains("\"memberId\":" + json(memberId)) && !response.body().contains("password"),
+              abbreviate(response.body()));
+    }
+
+    private static String[] findFreeSku(InventorySnapshot snapshot, LocalDate start, LocalDate end) {
+        for (Costume costume : snapshot.getCostumes()) {
+            for (String size : costume.getAvailableSizes()) {
+                if (costume.hasSize(size) && snapshot.isStockAvailableForPeriod(costume.getCostumeId(), size, start, end)) {
+                    return new String[] { costume.getCostumeId(), size };
+                }
+            }
+        }
+        return null;
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                           HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String body) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(baseUrl + path))
+                               .header("Content-Type", "application/json")
+                               .POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+                           HttpResponse.BodyHandlers.ofString());
+    }
+
+    private void check(String name, boolean passed, String detail) {
+        if (passed) {
+            System.out.println("PASS " + name);
+        } else {
+            failures++;
+            System.out.println("FAIL " + name + ": " + detail);
+        }
+    }
+
+    private static List<String> costumeIds(String json) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = COSTUME_ID.matcher(json);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static List<String> ids(List<Costume> costumes) {
+        List<String> ids = new ArrayList<>();
+        for (Costume costume : costumes) {
+            ids.add(costume.getCostumeId());
+        }
+        return ids;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // IDs in the test data never need escaping
+    private static String json(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+}
@@ -0,0 +1,302 @@
+package gui;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Headless load driver for the booking service layer.
+// N simulated clerks (virtual threads where available) run a weighted mix of search,
+// availability check, booking, return and cancellation against RentalService until the
+// time is up. Bookings concentrate on a few popular costumes and the next few weeks, so
+// clerks compete for the same SKU-days. The report shows throughput and p50/p99/p999
+// latency per operation, then checks that no SKU-day is booked beyond its stock
+// (FileIO.getCostumeStock) and that the inventory snapshot agrees with the rentals.
+//
+// It books into the data files of the working directory, so run it on a copy, e.g.
+// data from SyntheticDataGenerator:
+//   java gui.SyntheticDataGenerator /tmp/load/gui 500 5000 20000
+//   cd /tmp/load && java -cp <classes> gui.BookingLoadTest 64 30 > service.log
+// Usage: java gui.BookingLoadTest [clients] [seconds] [search:availability:create:return:cancel]
+// The report goes to stderr, so the service's own console output can be redirected.
+public class BookingLoadTest {
+    enum Operation { SEARCH, AVAILABILITY, CREATE, RETURN, CANCEL }
+
+    private static final String[] SEARCH_WORDS = {"classic", "dress", "suit", "witch", "kimono", "party", "de", "yu"};
+    private static final int BOOKING_WINDOW_DAYS = 60;
+
+    private final int clients;
+    private final long durationNanos;
+    private final int[] weights;
+
+    private final RentalService rentalService = new RentalService();
+    private final InventoryState inventory = InventoryState.getInstance();
+    private final List<Costume> catalog;
+    private final List<String> memberIds = new ArrayList<>();
+
+    // Bookings made by this run; clerks return or cancel them later
+    private final ConcurrentLinkedQueue<String> openBookings = new ConcurrentLinkedQueue<>();
+    private final Set<Rental> createdRentals = ConcurrentHashMap.newKeySet();
+    private final Map<Operation, List<long[]>> samples = new ConcurrentHashMap<>();
+    private final Map<Operation, LongAdder> failures = new ConcurrentHashMap<>();
+
+    public BookingLoadTest(int clients, int seconds, int[] weights) {
+        this.clients = clients;
+        this.durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+        this.weights = weights;
+        this.catalog = inventory.current().getCostumes();
+        for (FileIO.MemberData member : FileIO.getInstance().getAllMembers()) {
+            memberIds.add(member.getMemberId());
+        }
+        if (memberIds.isEmpty()) {
+            memberIds.add("load-test");
+        }
+        for (Operation operation : Operation.values()) {
+            samples.put(operation, new ArrayList<>());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Files.exists(Paths.get("gui", "FileIO.java"))) {
+            System.err.println("Refusing to book into the data files in the source directory; run on a copy");
+            System.exit(1);
+        }
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int[] weights = {40, 30, 20, 5, 5};
+        if (args.length > 2) {
+            String[] parts = args[2].split(":");
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = i < parts.length ? Integer.parseInt(parts[i]) : 0;
+            }
+        }
+
+        BookingLoadTest test = new BookingLoadTest(clients, seconds, weights);
+        test.run();
+        boolean consistent = test.checkInvariants();
+        System.exit(consistent ? 0 : 2);
+    }
+
+    public void run() throws InterruptedException {
+        System.err.printf("Running %d clients for %d s on %d costumes, %d members (mix %s)%n",
+            clients, TimeUnit.NANOSECONDS.toSeconds(durationNanos), catalog.size(), memberIds.size(),
+            Arrays.toString(weights));
+        ExecutorService executor = BookingApiServer.newRequestExecutor();
+        CountDownLatch done = new CountDownLatch(clients);
+        long startTime = System.nanoTime();
+        long deadline = startTime + durationNanos;
+        for (int i = 0; i < clients; i++) {
+            executor.execute(() -> {
+                try {
+                    runClient(deadline);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        executor.shutdown();
+        report(System.nanoTime() - startTime);
+    }
+
+    private void runClient(long deadline) {
+        // Each client records into its own arrays, merged only for the report
+        Map<Operation, long[]> latencies = new HashMap<>();
+        Map<Operation, Integer> counts = new HashMap<>();
+        int totalWeight = 0;
+        for (int weight : weights) {
+            totalWeight += weight;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            Operation operation = pick(random.nextInt(totalWeight));
+            long start = System.nanoTime();
+            boolean succeeded;
+            try {
+                succeeded = execute(operation, random);
+            } catch (RuntimeException e) {
+                succeeded = false;
+            }
+            long elapsed = System.nanoTime() - start;
+            if (!succeeded) {
+                failures.get(operation).increment();
+            }
+            long[] values = latencies.computeIfAbsent(operation, k -> new long[1024]);
+            int count = counts.getOrDefault(operation, 0);
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+                latencies.put(operation, values);
+            }
+            values[count] = elapsed;
+            counts.put(operation, count + 1);
+        }
+        for (Map.Entry<Operation, long[]> entry : latencies.entrySet()) {
+            List<long[]> all = samples.get(entry.getKey());
+            synchronized (all) {
+                all.add(Arrays.copyOf(entry.getValue(), counts.get(entry.getKey())));
+            }
+        }
+    }
+
+    private Operation pick(int value) {
+        for (Operation operation : Operation.values()) {
+            value -= weights[operation.ordinal()];
+            if (value < 0) return operation;
+        }
+        return Operation.SEARCH;
+    }
+
+    // False for a rejected operation (fully booked, nothing left to return, ...)
+    private boolean execute(Operation operation, ThreadLocalRandom random) {
+        switch (operation) {
+            case SEARCH:
+                return !inventory.current().searchCostumes(SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)]).isEmpty();
+            case AVAILABILITY: {
+                Costume costume = popularCostume(random);
+                LocalDate start = RentalClock.today().plusDays(1 + random.nextInt(BOOKING_WINDOW_DAYS));
+                return rentalService.isStockAvailableForPeriod(costume.getCostumeId(), randomSize(costume, random),
+                                                               start, start.plusDays(random.nextInt(4)));
+            }
+            case CREATE: {
+                Costume costume = popularCostume(random);
+                LocalDate start = RentalClock.today().plusDays(1 + random.nextInt(BOOKING_WINDOW_DAYS));
+                LocalDate end = start.plusDays(random.nextInt(4));
+                double totalCost = costume.getPrice() * RentalService.calculateRentalDays(start, end);
+                Rental rental = rentalService.reserveRental(memberIds.get(random.nextInt(memberIds.size())),
+                    costume.getCostumeId(), randomSize(costume, random), start, end, totalCost);
+                if (rental == null) return false;
+                createdRentals.add(rental);
+                openBookings.add(rental.getRentalId());
+                return true;
+            }
+            case RETURN: {
+                String rentalId = openBookings.poll();
+                return rentalId != null && rentalService.returnRental(rentalId, RentalClock.today());
+            }
+            case CANCEL: {
+                String rentalId = openBookings.poll();
+                return rentalId != null && rentalService.cancelRental(rentalId);
+            }
+            default:
+                return false;
+        }
+    }
+
+    // A few costumes get most of the traffic, so bookings collide
+    private Costume popularCostume(ThreadLocalRandom random) {
+        return catalog.get((int) (catalog.size() * Math.pow(random.nextDouble(), 3)));
+    }
+
+    private static String randomSize(Costume costume, ThreadLocalRandom random) {
+        List<String> sizes = new ArrayList<>(costume.getAvailableSizes());
+        return sizes.isEmpty() ? "M" : sizes.get(random.nextInt(sizes.size()));
+    }
+
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long total = 0;
+        System.err.println();
+        System.err.printf("%-13s %9s %10s %9s %10s %10s %10s %10s%n",
+            "operation", "count", "ops/s", "rejected", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            long[] sorted = merged(operation);
+            if (sorted.length == 0) continue;
+            Arrays.sort(sorted);
+            total += sorted.length;
+            System.err.printf("%-13s %9d %10.0f %9d %10.3f %10.3f %10.3f %10.3f%n",
+                operation.name().toLowerCase(), sorted.length, sorted.length / seconds, failures.get(operation).sum(),
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                sorted[sorted.length - 1] / 1e6);
+        }
+        System.err.printf("total         %9d %10.0f   (%.1f s, %d clients)%n", total, total / seconds, seconds, clients);
+    }
+
+    private long[] merged(Operation operation) {
+        List<long[]> parts = samples.get(operation);
+        synchronized (parts) {
+            int size = 0;
+            for (long[] part : parts) {
+                size += part.length;
+            }
+            long[] result = new long[size];
+            int offset = 0;
+            for (long[] part : parts) {
+                System.arraycopy(part, 0, result, offset, part.length);
+                offset += part.length;
+            }
+            return result;
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    // Recounts every SKU-day this run booked from the rentals themselves and compares it
+    // with the costume stock and with the published inventory snapshot
+    public boolean checkInvariants() {
+        Set<String> touchedDays = new HashSet<>();
+        for (Rental rental : createdRentals) {
+            for (LocalDate date = rental.getRentalDate(); !date.isAfter(rental.getReturnDate()); date = date.plusDays(1)) {
+                touchedDays.add(InventorySnapshot.skuKey(rental.getCostumeId(), rental.getSize()) + "|" + date);
+            }
+        }
+
+        Map<String, Integer> occupancy = new HashMap<>();
+        for (Rental rental : rentalService.getAllRentals()) {
+            if (!InventorySnapshot.occupiesStock(rental.getStatus())) continue;
+            String sku = InventorySnapshot.skuKey(rental.getCostumeId(), rental.getSize());
+            for (LocalDate date = rental.getRentalDate(); !date.isAfter(rental.getReturnDate()); date = date.plusDays(1)) {
+                String key = sku + "|" + date;
+                if (touchedDays.contains(key)) {
+                    occupancy.merge(key, 1, Integer::sum);
+                }
+            }
+        }
+
+        FileIO fileIO = FileIO.getInstance();
+        InventorySnapshot snapshot = inventory.current();
+        Map<String, Integer> stockBySku = new HashMap<>();
+        int overbooked = 0;
+        int mismatched = 0;
+        for (String key : touchedDays) {
+            String[] parts = key.split("\\|");
+            String costumeId = parts[0];
+            String size = parts[1];
+            LocalDate date = LocalDate.parse(parts[2]);
+            int booked = occupancy.getOrDefault(key, 0);
+            int stock = stockBySku.computeIfAbsent(costumeId + "|" + size, k -> fileIO.getCostumeStock(costumeId, size));
+            if (booked > stock) {
+                overbooked++;
+                if (overbooked <= 10) {
+                    System.err.printf("OVERBOOKED %s %s on %s: %d booked, stock %d%n", costumeId, size, date, booked, stock);
+                }
+            }
+            if (snapshot.getReservedCount(costumeId, size, date) != booked) {
+                mismatched++;
+                if (mismatched <= 10) {
+                    System.err.printf("MISMATCH %s %s on %s: snapshot %d, rentals %d%n", costumeId, size, date,
+                                      snapshot.getReservedCount(costumeId, size, date), booked);
+                }
+            }
+        }
+        System.err.printf("Checked %d SKU-days booked by %d rentals: %d over capacity, %d snapshot mismatches%n",
+            touchedDays.size(), createdRentals.size(), overbooked, mismatched);
+        return overbooked == 0 && mismatched == 0;
+    }
+}
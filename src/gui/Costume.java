@@ -1,16 +1,23 @@
 package gui;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Set;
 
 
 public class Costume {
+    private static final int NOT_OFFERED = -1;
+
     private String costumeId;       
     private String costumeName;     
     private CostumeEvent event;     
     private double price;           
-    private Map<String, Integer> sizeStock; 
+    // Stock per size, indexed by IdDictionary.SIZES code (NOT_OFFERED if the costume
+    // does not come in that size). Standard sizes have the lowest codes, so index
+    // order is also display order.
+    private int[] stockBySize;
     private String imagePath;
 
     public Costume(String costumeId, String costumeName, CostumeEvent event, double price, String imagePath) {
@@ -18,14 +25,21 @@ public class Costume {
         this.costumeName = costumeName;
         this.event = event;
         this.price = price;
-        this.sizeStock = new HashMap<>(); 
+        this.stockBySize = new int[0];
         this.imagePath = imagePath;
     }
 
     // Constructor for backward compatibility
     public Costume(String costumeId, String costumeName, CostumeEvent event, double price, String size, int stock, String imagePath) {
         this(costumeId, costumeName, event, price, imagePath);
-        this.sizeStock.put(size, stock); 
+        addSizeStock(size, stock);
+    }
+
+    // Independent copy, used when publishing the catalog in an InventorySnapshot
+    public Costume copy() {
+        Costume copy = new Costume(costumeId, costumeName, event, price, imagePath);
+        copy.stockBySize = stockBySize.clone();
+        return copy;
     }
 
     // Getters and Setters
@@ -42,28 +56,80 @@ public class Costume {
     public void setImagePath(String imagePath) { this.imagePath = imagePath; }
     
     // Methods for managing multiple sizes and stocks
-    public Map<String, Integer> getSizeStock() { return sizeStock; }
-    public void setSizeStock(Map<String, Integer> sizeStock) { this.sizeStock = sizeStock; }
-    public void addSizeStock(String size, int stock) { this.sizeStock.put(size, stock); }
-    public int getStockForSize(String size) { return sizeStock.getOrDefault(size, 0); }
-    public Set<String> getAvailableSizes() { return sizeStock.keySet(); }
-    public boolean hasSize(String size) { return sizeStock.containsKey(size) && sizeStock.get(size) > 0; }
+
+    // Size -> stock in size order (a new map; changing it does not change the costume)
+    public Map<String, Integer> getSizeStock() {
+        Map<String, Integer> sizeStock = new LinkedHashMap<>();
+        for (int code = 0; code < stockBySize.length; code++) {
+            if (stockBySize[code] != NOT_OFFERED) {
+                sizeStock.put(IdDictionary.SIZES.get(code), stockBySize[code]);
+            }
+        }
+        return sizeStock;
+    }
+
+    public void setSizeStock(Map<String, Integer> sizeStock) {
+        stockBySize = new int[0];
+        for (Map.Entry<String, Integer> entry : sizeStock.entrySet()) {
+            addSizeStock(entry.getKey(), entry.getValue());
+        }
+    }
+
+    public void addSizeStock(String size, int stock) {
+        int code = IdDictionary.SIZES.intern(size);
+        if (code >= stockBySize.length) {
+            int oldLength = stockBySize.length;
+            stockBySize = Arrays.copyOf(stockBySize, code + 1);
+            Arrays.fill(stockBySize, oldLength, stockBySize.length, NOT_OFFERED);
+        }
+        stockBySize[code] = Math.max(0, stock);
+    }
+
+    public int getStockForSize(String size) {
+        return getStockForSize(IdDictionary.SIZES.find(size));
+    }
+
+    public int getStockForSize(int sizeCode) {
+        if (sizeCode < 0 || sizeCode >= stockBySize.length) return 0;
+        return Math.max(0, stockBySize[sizeCode]);
+    }
+
+    // Sizes the costume comes in (including sold-out ones), in size order
+    public Set<String> getAvailableSizes() {
+        Set<String> sizes = new LinkedHashSet<>();
+        for (int code = 0; code < stockBySize.length; code++) {
+            if (stockBySize[code] != NOT_OFFERED) {
+                sizes.add(IdDictionary.SIZES.get(code));
+            }
+        }
+        return sizes;
+    }
+
+    public boolean hasSize(String size) { return getStockForSize(size) > 0; }
     
     // Get total stock across all sizes
     public int getTotalStock() {
-        return sizeStock.values().stream().mapToInt(Integer::intValue).sum();
+        int total = 0;
+        for (int stock : stockBySize) {
+            if (stock > 0) total += stock;
+        }
+        return total;
     }
 
-    // Old methods for compatibility, now using the map
+    // Old methods for compatibility: the first size in size order
     public String getSize() {
-        if (!sizeStock.isEmpty()) {
-            return sizeStock.keySet().iterator().next(); // Returns the first size
+        for (int code = 0; code < stockBySize.length; code++) {
+            if (stockBySize[code] != NOT_OFFERED) {
+                return IdDictionary.SIZES.get(code);
+            }
         }
         return "";
     }
     public int getStock() {
-        if (!sizeStock.isEmpty()) {
-            return sizeStock.values().iterator().next(); // Returns the stock of the first size
+        for (int stock : stockBySize) {
+            if (stock != NOT_OFFERED) {
+                return stock;
+            }
         }
         return 0;
     }
@@ -1,6 +1,10 @@
 package gui;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -8,8 +12,29 @@ public class CostumeDataManager {
 
     private static final String RESOURCE_PATH_STR = "gui/costumes.csv";
     private FileIO fileIO = FileIO.getInstance();
+    private static final LatencyHistogram LOAD_TIME = MetricsRegistry.timer("CostumeDataManager.loadCostumes");
 
     public List<Costume> loadCostumes() {
+        DataEvents.CatalogLoad event = new DataEvents.CatalogLoad();
+        event.begin();
+        long start = System.nanoTime();
+        Path source = DataSnapshot.SNAPSHOT_PATH;
+        List<Costume> costumes = DataSnapshot.getInstance().loadCostumes();
+        if (costumes == null) {
+            source = Paths.get(RESOURCE_PATH_STR);
+            costumes = readCostumeFile();
+        }
+        LOAD_TIME.record(start);
+        if (event.shouldCommit()) {
+            event.file = DataEvents.fileName(source);
+            event.records = costumes.size();
+            event.bytes = DataEvents.sizeOf(source);
+            event.commit();
+        }
+        return costumes;
+    }
+
+    private List<Costume> readCostumeFile() {
         List<Costume> costumeList = new ArrayList<>();
         List<String> lines = fileIO.readAllLines(RESOURCE_PATH_STR);
 
@@ -73,10 +98,24 @@ public class CostumeDataManager {
         for (Costume costume : costumes) {
             lines.add(costumeToCsvString(costume));
         }
-        return fileIO.writeAllLines(RESOURCE_PATH_STR, lines);
+        if (!fileIO.writeAllLines(RESOURCE_PATH_STR, lines)) {
+            return false;
+        }
+        try {
+            // Tell the other terminals to reload the catalog
+            SharedDataDirectory.getInstance().appendChanges("C", Collections.singletonList(""));
+        } catch (IOException e) {
+            System.err.println("Error journaling catalog change: " + e.getMessage());
+        }
+        InventoryState.getInstance().publishCatalog(costumes);
+        return true;
     }
 
     public boolean addCostume(Costume newCostume) {
+        return fileIO.withDataLock(() -> addCostumeLocked(newCostume));
+    }
+
+    private boolean addCostumeLocked(Costume newCostume) {
         List<Costume> costumes = loadCostumes();
         // Check for duplicate ID
         if (costumes.stream().anyMatch(c -> c.getCostumeId().equals(newCostume.getCostumeId()))) {
@@ -87,6 +126,10 @@ public class CostumeDataManager {
     }
 
     public boolean updateCostume(Costume updatedCostume) {
+        return fileIO.withDataLock(() -> updateCostumeLocked(updatedCostume));
+    }
+
+    private boolean updateCostumeLocked(Costume updatedCostume) {
         List<Costume> costumes = loadCostumes();
         for (int i = 0; i < costumes.size(); i++) {
             if (costumes.get(i).getCostumeId().equals(updatedCostume.getCostumeId())) {
@@ -98,6 +141,10 @@ public class CostumeDataManager {
     }
 
     public boolean deleteCostume(String costumeId) {
+        return fileIO.withDataLock(() -> deleteCostumeLocked(costumeId));
+    }
+
+    private boolean deleteCostumeLocked(String costumeId) {
         List<Costume> costumes = loadCostumes();
         boolean removed = costumes.removeIf(c -> c.getCostumeId().equals(costumeId));
         if (removed) {
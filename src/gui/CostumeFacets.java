@@ -0,0 +1,121 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Immutable per-catalog filter bitsets for the search screen, keyed by costume code
+// (IdDictionary.COSTUMES) like CostumeNameIndex. Combining filters is a BitSet AND and
+// the size of each facet value's result is a cardinality(), so neither filtering nor
+// facet counts need to look at the costumes again.
+public final class CostumeFacets {
+    // Lower bounds of the price buckets; the last bucket is open-ended
+    private static final double[] PRICE_BUCKET_BOUNDS = {0, 25, 50, 75, 100, 150, 200, 300, 500};
+
+    static final CostumeFacets EMPTY = new CostumeFacets(List.of());
+
+    private final BitSet all = new BitSet();
+    private final BitSet[] byEvent = new BitSet[CostumeEvent.values().length];
+    private final BitSet[] bySize;          // sizes the costume comes in, by IdDictionary.SIZES code
+    private final BitSet[] byPriceBucket = new BitSet[PRICE_BUCKET_BOUNDS.length];
+    private final double[] priceByCode;     // for the two buckets a price range cuts through
+
+    CostumeFacets(List<Costume> catalog) {
+        for (int i = 0; i < byEvent.length; i++) {
+            byEvent[i] = new BitSet();
+        }
+        for (int i = 0; i < byPriceBucket.length; i++) {
+            byPriceBucket[i] = new BitSet();
+        }
+
+        int maxCode = -1;
+        for (Costume costume : catalog) {
+            maxCode = Math.max(maxCode, IdDictionary.COSTUMES.intern(costume.getCostumeId()));
+        }
+        priceByCode = new double[maxCode + 1];
+
+        BitSet[] sizes = new BitSet[0];
+        for (Costume costume : catalog) {
+            int code = IdDictionary.COSTUMES.find(costume.getCostumeId());
+            all.set(code);
+            byEvent[costume.getEvent().ordinal()].set(code);
+            byPriceBucket[priceBucket(costume.getPrice())].set(code);
+            priceByCode[code] = costume.getPrice();
+            for (String size : costume.getAvailableSizes()) {
+                int sizeCode = IdDictionary.SIZES.find(size);
+                if (sizeCode >= sizes.length) {
+                    int oldLength = sizes.length;
+                    sizes = Arrays.copyOf(sizes, sizeCode + 1);
+                    for (int i = oldLength; i < sizes.length; i++) {
+                        sizes[i] = new BitSet();
+                    }
+                }
+                sizes[sizeCode].set(code);
+            }
+        }
+        bySize = sizes;
+    }
+
+    // Callers may modify the returned sets; each call returns a new one
+    public BitSet all() {
+        return (BitSet) all.clone();
+    }
+
+    public BitSet event(CostumeEvent event) {
+        return (BitSet) byEvent[event.ordinal()].clone();
+    }
+
+    public BitSet size(String size) {
+        int sizeCode = IdDictionary.SIZES.find(size);
+        return sizeCode >= 0 && sizeCode < bySize.length ? (BitSet) bySize[sizeCode].clone() : new BitSet();
+    }
+
+    public static int priceBucketCount() {
+        return PRICE_BUCKET_BOUNDS.length;
+    }
+
+    // Lower bound of a price bucket (inclusive)
+    public static double priceBucketLow(int bucket) {
+        return PRICE_BUCKET_BOUNDS[bucket];
+    }
+
+    // Upper bound of a price bucket (exclusive), Double.MAX_VALUE for the last one
+    public static double priceBucketHigh(int bucket) {
+        return bucket + 1 < PRICE_BUCKET_BOUNDS.length ? PRICE_BUCKET_BOUNDS[bucket + 1] : Double.MAX_VALUE;
+    }
+
+    public BitSet priceBucket(int bucket) {
+        return (BitSet) byPriceBucket[bucket].clone();
+    }
+
+    // Costumes priced within [minPrice, maxPrice]: whole buckets inside the range are
+    // OR-ed in, only the members of the buckets at the two ends are compared by price
+    public BitSet priceRange(double minPrice, double maxPrice) {
+        BitSet result = new BitSet();
+        if (maxPrice < minPrice) return result;
+        for (int bucket = 0; bucket < byPriceBucket.length; bucket++) {
+            double low = priceBucketLow(bucket);
+            double high = priceBucketHigh(bucket);
+            if (high <= minPrice || low > maxPrice) continue;
+            if (low >= minPrice && high <= maxPrice) {
+                result.or(byPriceBucket[bucket]);
+                continue;
+            }
+            BitSet members = byPriceBucket[bucket];
+            for (int code = members.nextSetBit(0); code >= 0; code = members.nextSetBit(code + 1)) {
+                if (priceByCode[code] >= minPrice && priceByCode[code] <= maxPrice) {
+                    result.set(code);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static int priceBucket(double price) {
+        int bucket = 0;
+        while (bucket + 1 < PRICE_BUCKET_BOUNDS.length && price >= PRICE_BUCKET_BOUNDS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
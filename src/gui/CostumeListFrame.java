@@ -55,24 +55,26 @@ public class CostumeListFrame extends JFrame {
     }
 
     private void loadCostumes() {
-        tableModel.setRowCount(0); // Clear table
-        List<Costume> costumes = costumeManager.loadCostumes();
-        for (Costume costume : costumes) {
-            // Convert size:stock map to a readable string
-            String sizeStockStr = costume.getSizeStock().entrySet().stream()
-                .map(entry -> entry.getKey() + ":" + entry.getValue())
-                .collect(Collectors.joining(", "));
-
-            Object[] row = {
-                costume.getCostumeId(),
-                costume.getCostumeName(),
-                costume.getEvent().getDisplayName(),
-                String.format("%.2f", costume.getPrice()),
-                sizeStockStr,
-                costume.getImagePath()
-            };
-            tableModel.addRow(row);
-        }
+        ReadScope.run("CostumeListFrame.loadCostumes", () -> {
+            tableModel.setRowCount(0); // Clear table
+            List<Costume> costumes = costumeManager.loadCostumes();
+            for (Costume costume : costumes) {
+                // Convert size:stock map to a readable string
+                String sizeStockStr = costume.getSizeStock().entrySet().stream()
+                    .map(entry -> entry.getKey() + ":" + entry.getValue())
+                    .collect(Collectors.joining(", "));
+
+                Object[] row = {
+                    costume.getCostumeId(),
+                    costume.getCostumeName(),
+                    costume.getEvent().getDisplayName(),
+                    String.format("%.2f", costume.getPrice()),
+                    sizeStockStr,
+                    costume.getImagePath()
+                };
+                tableModel.addRow(row);
+            }
+        });
     }
 
     private void addNewCostume() {
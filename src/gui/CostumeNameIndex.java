@@ -0,0 +1,252 @@
+package gui;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Immutable n-gram inverted index over costume names and event display names.
+// Every 1-, 2- and 3-character substring of the lowercased text maps to a sorted posting
+// list of costume codes (IdDictionary.COSTUMES). A query of up to three characters is a
+// single posting list; a longer one intersects the postings of its trigrams and then
+// confirms the few candidates with contains(), since trigrams can match out of order.
+// build() collects every posting list in one pass and sorts each once. Costume codes do not
+// change when the catalog does, so withChanges() only touches the postings of costumes that
+// were added, edited or removed, and merges each affected list once.
+public final class CostumeNameIndex {
+    public static final CostumeNameIndex EMPTY = new CostumeNameIndex(Collections.emptyMap(), Collections.emptyMap());
+
+    private static final int MAX_GRAM = 3;
+    private static final int[] NO_POSTINGS = new int[0];
+
+    private final Map<String, int[]> postings;
+    private final Map<Integer, String> textByCode;
+
+    private CostumeNameIndex(Map<String, int[]> postings, Map<Integer, String> textByCode) {
+        this.postings = postings;
+        this.textByCode = textByCode;
+    }
+
+    // Index of a whole catalog: codes are appended per gram, then each list is sorted once
+    static CostumeNameIndex build(List<Costume> catalog) {
+        Map<Integer, String> textByCode = new HashMap<>();
+        for (Costume costume : catalog) {
+            textByCode.put(IdDictionary.COSTUMES.intern(costume.getCostumeId()), searchText(costume));
+        }
+        Map<String, int[]> postings = new HashMap<>();
+        for (Map.Entry<String, Postings> entry : postingsByGram(textByCode).entrySet()) {
+            postings.put(entry.getKey(), entry.getValue().toSortedArray());
+        }
+        return new CostumeNameIndex(postings, textByCode);
+    }
+
+    // Index for next, derived from this index built for previous
+    CostumeNameIndex withChanges(List<Costume> previous, List<Costume> next) {
+        if (textByCode.isEmpty()) return build(next);
+
+        Map<Integer, String> nextText = new HashMap<>();
+        for (Costume costume : next) {
+            nextText.put(IdDictionary.COSTUMES.intern(costume.getCostumeId()), searchText(costume));
+        }
+
+        Map<Integer, String> removed = new HashMap<>();
+        Map<Integer, String> added = new HashMap<>();
+        for (Costume costume : previous) {
+            int code = IdDictionary.COSTUMES.find(costume.getCostumeId());
+            String oldText = textByCode.get(code);
+            if (oldText != null && !oldText.equals(nextText.get(code))) {
+                removed.put(code, oldText);
+            }
+        }
+        for (Map.Entry<Integer, String> entry : nextText.entrySet()) {
+            if (!entry.getValue().equals(textByCode.get(entry.getKey()))) {
+                added.put(entry.getKey(), entry.getValue());
+            }
+        }
+        if (removed.isEmpty() && added.isEmpty()) return this;
+
+        // Shallow copy: only the posting lists of affected grams are replaced, each merged once
+        // with all of its removed and added codes
+        Map<String, Postings> removedByGram = postingsByGram(removed);
+        Map<String, Postings> addedByGram = postingsByGram(added);
+        Set<String> affected = new HashSet<>(removedByGram.keySet());
+        affected.addAll(addedByGram.keySet());
+        Map<String, int[]> nextPostings = new HashMap<>(postings);
+        for (String gram : affected) {
+            Postings gramRemoved = removedByGram.get(gram);
+            Postings gramAdded = addedByGram.get(gram);
+            int[] updated = merge(nextPostings.getOrDefault(gram, NO_POSTINGS),
+                                  gramRemoved == null ? NO_POSTINGS : gramRemoved.toSortedArray(),
+                                  gramAdded == null ? NO_POSTINGS : gramAdded.toSortedArray());
+            if (updated.length == 0) {
+                nextPostings.remove(gram);
+            } else {
+                nextPostings.put(gram, updated);
+            }
+        }
+        return new CostumeNameIndex(nextPostings, nextText);
+    }
+
+    // Codes of costumes whose name or event contains the query (case-insensitive)
+    public BitSet search(String query) {
+        String text = query.toLowerCase().trim();
+        BitSet result = new BitSet();
+        if (text.isEmpty()) {
+            for (int code : textByCode.keySet()) {
+                result.set(code);
+            }
+            return result;
+        }
+
+        if (text.length() <= MAX_GRAM) {
+            for (int code : postings.getOrDefault(text, NO_POSTINGS)) {
+                result.set(code);
+            }
+            return result;
+        }
+
+        // Intersect trigram postings, starting with the shortest list
+        int[] candidates = null;
+        for (int i = 0; i + MAX_GRAM <= text.length(); i++) {
+            int[] list = postings.getOrDefault(text.substring(i, i + MAX_GRAM), NO_POSTINGS);
+            candidates = candidates == null ? list : intersect(candidates, list);
+            if (candidates.length == 0) return result;
+        }
+        for (int code : candidates) {
+            if (textByCode.get(code).contains(text)) {
+                result.set(code);
+            }
+        }
+        return result;
+    }
+
+    // Word-level query: words are AND-ed and an "OR" (or "|") between words separates
+    // alternatives, so "red witch OR vampire" means (red AND witch) OR vampire
+    public BitSet query(String query) {
+        BitSet result = null;
+        BitSet group = null;
+        for (String word : query.trim().split("\\s+")) {
+            if (word.isEmpty()) continue;
+            if ("OR".equals(word) || "|".equals(word)) {
+                if (group != null) {
+                    if (result == null) {
+                        result = group;
+                    } else {
+                        result.or(group);
+                    }
+                }
+                group = null;
+                continue;
+            }
+            BitSet matches = search(word);
+            if (group == null) {
+                group = matches;
+            } else {
+                group.and(matches);
+            }
+        }
+        if (group != null) {
+            if (result == null) {
+                result = group;
+            } else {
+                result.or(group);
+            }
+        }
+        return result == null ? search("") : result;
+    }
+
+    public int size() {
+        return textByCode.size();
+    }
+
+    static String searchText(Costume costume) {
+        return (costume.getCostumeName() + "\n" + costume.getEventDisplayName()).toLowerCase();
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int n = 1; n <= MAX_GRAM; n++) {
+            for (int i = 0; i + n <= text.length(); i++) {
+                String gram = text.substring(i, i + n);
+                if (gram.indexOf('\n') < 0) { // never across the name/event boundary
+                    grams.add(gram);
+                }
+            }
+        }
+        return grams;
+    }
+
+    // Unsorted codes per gram of the given texts
+    private static Map<String, Postings> postingsByGram(Map<Integer, String> textByCode) {
+        Map<String, Postings> byGram = new HashMap<>();
+        for (Map.Entry<Integer, String> entry : textByCode.entrySet()) {
+            for (String gram : grams(entry.getValue())) {
+                byGram.computeIfAbsent(gram, g -> new Postings()).add(entry.getKey());
+            }
+        }
+        return byGram;
+    }
+
+    // Growable list of codes
+    private static final class Postings {
+        private int[] codes = new int[4];
+        private int size;
+
+        void add(int code) {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            codes[size++] = code;
+        }
+
+        int[] toSortedArray() {
+            int[] sorted = Arrays.copyOf(codes, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    // list without the codes in removed, plus the codes in added; all three sorted
+    private static int[] merge(int[] list, int[] removed, int[] added) {
+        int[] result = new int[list.length + added.length];
+        int count = 0;
+        int r = 0;
+        int a = 0;
+        for (int code : list) {
+            while (r < removed.length && removed[r] < code) r++;
+            if (r < removed.length && removed[r] == code) continue;
+            while (a < added.length && added[a] < code) {
+                result[count++] = added[a++];
+            }
+            if (a < added.length && added[a] == code) a++;
+            result[count++] = code;
+        }
+        while (a < added.length) {
+            result[count++] = added[a++];
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] result = new int[Math.min(a.length, b.length)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[count++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,128 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Immutable prefix trie for type-ahead on costume names, stored in flat arrays.
+// Every word of a name starts a key ("vampire lord costume" is a key of "Classic Vampire
+// Lord Costume"), so typing any word of a name finds it. Each node keeps its best
+// completions, most rented first, so a lookup is a walk down the typed prefix and
+// never visits the subtree below it.
+public final class CostumeNameTrie {
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+    private static final int[] NO_ENTRIES = new int[0];
+
+    private final String[] names;      // entry -> costume name
+    private final int[] popularity;    // entry -> number of rentals
+    private final int maxSuggestions;
+
+    // Node arrays: the children of a node are a linked list through nextSibling
+    private char[] label = new char[64];
+    private int[] firstChild = new int[64];
+    private int[] nextSibling = new int[64];
+    private int[][] best = new int[64][]; // entries, best first, at most maxSuggestions
+    private int nodeCount;
+
+    private CostumeNameTrie(List<Costume> catalog, Map<String, Integer> rentalCounts, int maxSuggestions) {
+        this.maxSuggestions = maxSuggestions;
+        names = new String[catalog.size()];
+        popularity = new int[catalog.size()];
+        newNode('\0');
+
+        for (int entry = 0; entry < catalog.size(); entry++) {
+            Costume costume = catalog.get(entry);
+            names[entry] = costume.getCostumeName();
+            popularity[entry] = rentalCounts.getOrDefault(costume.getCostumeId(), 0);
+            String key = names[entry].toLowerCase();
+            for (int start = 0; start < key.length(); start++) {
+                if (key.charAt(start) != ' ' && (start == 0 || key.charAt(start - 1) == ' ')) {
+                    insert(key, start, entry);
+                }
+            }
+        }
+    }
+
+    public static CostumeNameTrie build(List<Costume> catalog, Map<String, Integer> rentalCounts, int maxSuggestions) {
+        return new CostumeNameTrie(catalog, rentalCounts, maxSuggestions);
+    }
+
+    // Names starting with the prefix at a word boundary, most rented first
+    public List<String> complete(String prefix) {
+        String key = prefix.toLowerCase().trim();
+        List<String> result = new ArrayList<>();
+        if (key.isEmpty()) return result;
+        int node = ROOT;
+        for (int i = 0; i < key.length() && node != NONE; i++) {
+            node = child(node, key.charAt(i));
+        }
+        if (node == NONE) return result;
+        for (int entry : best[node]) {
+            result.add(names[entry]);
+        }
+        return result;
+    }
+
+    private void insert(String key, int start, int entry) {
+        int node = ROOT;
+        for (int i = start; i < key.length(); i++) {
+            int next = child(node, key.charAt(i));
+            if (next == NONE) {
+                next = newNode(key.charAt(i));
+                nextSibling[next] = firstChild[node];
+                firstChild[node] = next;
+            }
+            node = next;
+            offer(node, entry);
+        }
+    }
+
+    private int child(int node, char c) {
+        for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+            if (label[child] == c) return child;
+        }
+        return NONE;
+    }
+
+    private int newNode(char c) {
+        if (nodeCount == label.length) {
+            int capacity = nodeCount * 2;
+            label = Arrays.copyOf(label, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            best = Arrays.copyOf(best, capacity);
+        }
+        label[nodeCount] = c;
+        firstChild[nodeCount] = NONE;
+        nextSibling[nodeCount] = NONE;
+        best[nodeCount] = NO_ENTRIES;
+        return nodeCount++;
+    }
+
+    // Adds the entry to the node's best list unless it is already there or ranks too low
+    private void offer(int node, int entry) {
+        int[] entries = best[node];
+        for (int e : entries) {
+            if (e == entry) return;
+        }
+        int position = entries.length;
+        while (position > 0 && ranksBefore(entry, entries[position - 1])) {
+            position--;
+        }
+        if (position >= maxSuggestions) return;
+
+        int length = Math.min(entries.length + 1, maxSuggestions);
+        int[] updated = new int[length];
+        System.arraycopy(entries, 0, updated, 0, position);
+        updated[position] = entry;
+        System.arraycopy(entries, position, updated, position + 1, length - position - 1);
+        best[node] = updated;
+    }
+
+    private boolean ranksBefore(int a, int b) {
+        if (popularity[a] != popularity[b]) return popularity[a] > popularity[b];
+        return names[a].compareToIgnoreCase(names[b]) < 0;
+    }
+}
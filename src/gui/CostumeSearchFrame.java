@@ -1,14 +1,18 @@
 package gui;
 
 import java.awt.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List; 
+import java.util.Locale;
 import java.util.Map;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 
 public class CostumeSearchFrame extends JFrame {
-    private static final List<String> STANDARD_SIZE_ORDER = List.of("XS", "S", "M", "L", "XL", "XXL", "One Size");
     
     private String currentMemberId;
     private JTextField searchField;
@@ -16,22 +20,48 @@ public class CostumeSearchFrame extends JFrame {
     private JComboBox<String> sizeComboBox;
     private JTextField minPriceField;
     private JTextField maxPriceField;
+    private JComboBox<String> priceBucketComboBox;
     private JPanel costumeDisplayPanel;
     private JScrollPane scrollPane;
     
-    private CostumeDataManager dataManager;
-    private FileIO fileIO; 
+    private InventoryState inventory;
+    private InventorySnapshot snapshot; // one consistent view per search
     private List<Costume> allCostumes;
     private List<Costume> filteredCostumes;
 
+    // Facet counts from the last search, shown next to each filter value
+    private int[] eventCounts = new int[CostumeEvent.values().length];
+    private int allEventsCount;
+    private Map<String, Integer> sizeCounts = new HashMap<>();
+    private Map<String, Integer> priceBucketCounts = new HashMap<>();
+
+    // Type-ahead suggestions for the name field
+    private static final int MAX_SUGGESTIONS = 8;
+    private static final int SEARCH_DELAY_MS = 300;
+    private RentalService rentalService;
+    private CostumeNameTrie nameTrie;
+    private long nameTrieVersion = -1;
+    private boolean nameTrieBuilding;
+    private JPopupMenu suggestionPopup;
+    private DefaultListModel<String> suggestionModel;
+    private JList<String> suggestionList;
+    private Timer searchTimer;
+    private boolean applyingSuggestion;
+
+    private BitSet availableToday;
+    private long availabilityVersion;
+    private LocalDate availabilityDate;
+
     public CostumeSearchFrame(String memberId) {
         this.currentMemberId = memberId;
-        this.fileIO = FileIO.getInstance(); 
+        this.inventory = InventoryState.getInstance(); 
+        this.rentalService = new RentalService();
         initializeComponents();
         loadCostumeData();
         setupLayout();
         setupEventListeners();
         displayAllCostumes();
+        currentNameTrie(); // Build the suggestions before the first keystroke
     }
     
     private Image getHighQualityScaledImage(Image originalImage, int targetWidth, int targetHeight) {
@@ -58,6 +88,14 @@ public class CostumeSearchFrame extends JFrame {
         setLocationRelativeTo(null);
 
         searchField = new JTextField(20);
+
+        suggestionModel = new DefaultListModel<>();
+        suggestionList = new JList<>(suggestionModel);
+        suggestionList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        suggestionList.setFocusable(false);
+        suggestionPopup = new JPopupMenu();
+        suggestionPopup.setFocusable(false);
+        suggestionPopup.add(new JScrollPane(suggestionList));
         
         eventComboBox = new JComboBox<>();
         eventComboBox.addItem(null); 
@@ -67,12 +105,24 @@ public class CostumeSearchFrame extends JFrame {
         
         List<String> sizeOptions = new ArrayList<>();
         sizeOptions.add("All");
-        sizeOptions.addAll(STANDARD_SIZE_ORDER);
+        sizeOptions.addAll(StandardSize.labels());
         sizeComboBox = new JComboBox<>(sizeOptions.toArray(new String[0]));
+
+        eventComboBox.setRenderer(new FacetCountRenderer(
+            value -> value == null ? allEventsCount : eventCounts[((CostumeEvent) value).ordinal()]));
+        sizeComboBox.setRenderer(new FacetCountRenderer(value -> sizeCounts.get(value)));
         
 
         minPriceField = new JTextField(8);
         maxPriceField = new JTextField(8);
+
+        // Shortcut for the price fields, with the number of matching costumes per bucket
+        priceBucketComboBox = new JComboBox<>();
+        priceBucketComboBox.addItem("Any price");
+        for (int bucket = 0; bucket < CostumeFacets.priceBucketCount(); bucket++) {
+            priceBucketComboBox.addItem(priceBucketLabel(bucket));
+        }
+        priceBucketComboBox.setRenderer(new FacetCountRenderer(value -> priceBucketCounts.get(value)));
         
 
         costumeDisplayPanel = new JPanel();
@@ -88,23 +138,25 @@ public class CostumeSearchFrame extends JFrame {
         
         costumeDisplayPanel.setDoubleBuffered(true);
         
-        dataManager = new CostumeDataManager();
         allCostumes = new ArrayList<>();
         filteredCostumes = new ArrayList<>();
     }
 
     private void loadCostumeData() {
-        try {
-            allCostumes = dataManager.loadCostumes();
-            filteredCostumes = new ArrayList<>(allCostumes);
-            System.out.println("Loaded " + allCostumes.size() + " costumes");
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, 
-                "Error loading costume data: " + e.getMessage(), 
-                "Error", 
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        ReadScope.run("CostumeSearchFrame.loadCostumeData", () -> {
+            try {
+                snapshot = inventory.current();
+                allCostumes = snapshot.getCostumes();
+                filteredCostumes = new ArrayList<>(allCostumes);
+                System.out.println("Loaded " + allCostumes.size() + " costumes");
+            } catch (Exception e) {
+                JOptionPane.showMessageDialog(this, 
+                    "Error loading costume data: " + e.getMessage(), 
+                    "Error", 
+                    JOptionPane.ERROR_MESSAGE);
+                e.printStackTrace();
+            }
+        });
     }
 
     private void setupLayout() {
@@ -174,6 +226,7 @@ public class CostumeSearchFrame extends JFrame {
         JLabel dollarLabel = new JLabel(" $");
         dollarLabel.setFont(labelFont);
         pricePanel.add(dollarLabel);
+        pricePanel.add(priceBucketComboBox);
         
         gbc.gridx = 3;
         panel.add(pricePanel, gbc);
@@ -224,30 +277,138 @@ public class CostumeSearchFrame extends JFrame {
 
     private void setupEventListeners() {
        
+        // Suggestions follow every keystroke; the card grid waits until typing pauses
+        searchTimer = new Timer(SEARCH_DELAY_MS, e -> performSearch());
+        searchTimer.setRepeats(false);
         searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
-            public void changedUpdate(javax.swing.event.DocumentEvent e) { performSearch(); }
-            public void removeUpdate(javax.swing.event.DocumentEvent e) { performSearch(); }
-            public void insertUpdate(javax.swing.event.DocumentEvent e) { performSearch(); }
+            public void changedUpdate(javax.swing.event.DocumentEvent e) { onSearchTextChanged(); }
+            public void removeUpdate(javax.swing.event.DocumentEvent e) { onSearchTextChanged(); }
+            public void insertUpdate(javax.swing.event.DocumentEvent e) { onSearchTextChanged(); }
+        });
+        searchField.addActionListener(e -> {
+            searchTimer.stop();
+            performSearch();
+        });
+        searchField.addKeyListener(new java.awt.event.KeyAdapter() {
+            @Override
+            public void keyPressed(java.awt.event.KeyEvent e) {
+                if (!suggestionPopup.isVisible()) return;
+                int selected = suggestionList.getSelectedIndex();
+                switch (e.getKeyCode()) {
+                    case java.awt.event.KeyEvent.VK_DOWN:
+                        suggestionList.setSelectedIndex(Math.min(selected + 1, suggestionModel.size() - 1));
+                        e.consume();
+                        break;
+                    case java.awt.event.KeyEvent.VK_UP:
+                        suggestionList.setSelectedIndex(Math.max(selected - 1, 0));
+                        e.consume();
+                        break;
+                    case java.awt.event.KeyEvent.VK_ENTER:
+                        if (selected >= 0) {
+                            applySuggestion(suggestionModel.get(selected));
+                            e.consume();
+                        }
+                        break;
+                    case java.awt.event.KeyEvent.VK_ESCAPE:
+                        suggestionPopup.setVisible(false);
+                        e.consume();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+        searchField.addFocusListener(new java.awt.event.FocusAdapter() {
+            @Override
+            public void focusLost(java.awt.event.FocusEvent e) {
+                suggestionPopup.setVisible(false);
+            }
+        });
+        suggestionList.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                int index = suggestionList.locationToIndex(e.getPoint());
+                if (index >= 0) {
+                    applySuggestion(suggestionModel.get(index));
+                }
+            }
         });
         
     
         eventComboBox.addActionListener(e -> performSearch());
         sizeComboBox.addActionListener(e -> performSearch());
+        priceBucketComboBox.addActionListener(e -> applyPriceBucket());
     }
 
+    private void onSearchTextChanged() {
+        if (applyingSuggestion) return;
+        showSuggestions();
+        searchTimer.restart();
+    }
 
-    private int getAvailableStock(String costumeId, String size) {
-        int maxStock = fileIO.getCostumeStock(costumeId, size);
-        if (maxStock <= 0) {
-            return 0;
+    private void showSuggestions() {
+        CostumeNameTrie trie = currentNameTrie();
+        List<String> suggestions = trie == null ? Collections.emptyList() : trie.complete(searchField.getText());
+        if (suggestions.isEmpty() || !searchField.isShowing()) {
+            suggestionPopup.setVisible(false);
+            return;
         }
-        
-        
-        java.time.LocalDate today = java.time.LocalDate.now();
-        Map<java.time.LocalDate, Integer> reservationCounts = fileIO.getReservationCounts(costumeId, size);
-        int reservedToday = reservationCounts.getOrDefault(today, 0);
-        
-        return Math.max(0, maxStock - reservedToday);
+        suggestionModel.clear();
+        for (String suggestion : suggestions) {
+            suggestionModel.addElement(suggestion);
+        }
+        suggestionList.setVisibleRowCount(suggestions.size());
+        if (suggestionPopup.isVisible()) {
+            suggestionPopup.pack();
+        } else {
+            suggestionPopup.show(searchField, 0, searchField.getHeight());
+        }
+    }
+
+    private void applySuggestion(String costumeName) {
+        applyingSuggestion = true;
+        searchField.setText(costumeName);
+        applyingSuggestion = false;
+        suggestionPopup.setVisible(false);
+        searchTimer.stop();
+        performSearch();
+    }
+
+    // The trie in use, or null before the first build finishes. Every new inventory version
+    // (catalog change, booking, cancellation) starts a rebuild on a worker thread so popularity
+    // follows the rental counts; typing keeps using the previous trie until it is done.
+    private CostumeNameTrie currentNameTrie() {
+        InventorySnapshot current = inventory.current();
+        if (current.getVersion() != nameTrieVersion && !nameTrieBuilding) {
+            nameTrieBuilding = true;
+            new SwingWorker<CostumeNameTrie, Void>() {
+                @Override
+                protected CostumeNameTrie doInBackground() {
+                    return CostumeNameTrie.build(current.getCostumes(), rentalService.getRentalCountsByCostume(), MAX_SUGGESTIONS);
+                }
+
+                @Override
+                protected void done() {
+                    nameTrieBuilding = false;
+                    try {
+                        nameTrie = get();
+                        nameTrieVersion = current.getVersion();
+                    } catch (Exception e) {
+                        System.err.println("Error building name suggestions: " + e.getMessage());
+                        return;
+                    }
+                    if (searchField.hasFocus() && !searchField.getText().isEmpty()) {
+                        showSuggestions();
+                    }
+                }
+            }.execute();
+        }
+        return nameTrie;
+    }
+
+
+    private int getAvailableStock(String costumeId, String size) {
+        return snapshot.getAvailableStock(costumeId, size, RentalClock.today());
     }
     
 
@@ -269,69 +430,168 @@ public class CostumeSearchFrame extends JFrame {
     }
 
     private void performSearch() {
-        String searchText = searchField.getText().toLowerCase().trim();
-        CostumeEvent selectedEvent = (CostumeEvent) eventComboBox.getSelectedItem();
-        String selectedSize = (String) sizeComboBox.getSelectedItem();
+        ReadScope.run("CostumeSearchFrame.performSearch", () -> {
+            String searchText = searchField.getText().trim();
+            CostumeEvent selectedEvent = (CostumeEvent) eventComboBox.getSelectedItem();
+            String selectedSize = (String) sizeComboBox.getSelectedItem();
       
-        double minPrice = 0;
-        double maxPrice = Double.MAX_VALUE;
+            double minPrice = 0;
+            double maxPrice = Double.MAX_VALUE;
         
-        try {
-            if (!minPriceField.getText().trim().isEmpty()) {
-                minPrice = Double.parseDouble(minPriceField.getText().trim());
-            }
-            if (!maxPriceField.getText().trim().isEmpty()) {
-                maxPrice = Double.parseDouble(maxPriceField.getText().trim());
-            }
-        } catch (NumberFormatException e) {
+            try {
+                if (!minPriceField.getText().trim().isEmpty()) {
+                    minPrice = Double.parseDouble(minPriceField.getText().trim());
+                }
+                if (!maxPriceField.getText().trim().isEmpty()) {
+                    maxPrice = Double.parseDouble(maxPriceField.getText().trim());
+                }
+            } catch (NumberFormatException e) {
             
+            }
+
+            // Take the latest snapshot once so the whole result reflects a single state
+            snapshot = inventory.current();
+            allCostumes = snapshot.getCostumes();
+            refreshAvailability();
+            CostumeFacets facets = snapshot.getFacets();
+
+            // Every filter is a bitset of costume codes; the text query comes from the name index
+            BitSet base = snapshot.matchText(searchText);
+            base.and(availableToday);
+            BitSet priceFilter = facets.priceRange(minPrice, maxPrice);
+            BitSet eventFilter = selectedEvent != null ? facets.event(selectedEvent) : facets.all();
+            BitSet sizeFilter = !"All".equals(selectedSize) ? facets.size(selectedSize) : facets.all();
+
+            updateFacetCounts(facets, base, priceFilter, eventFilter, sizeFilter);
+
+            BitSet matches = (BitSet) base.clone();
+            matches.and(priceFilter);
+            matches.and(eventFilter);
+            matches.and(sizeFilter);
+            filteredCostumes = snapshot.getCostumes(matches);
+        
+            displayCostumes(filteredCostumes);
+        });
+    }
+
+    // Each facet value is counted with every other active filter applied; base is the
+    // text match of the costumes available today
+    private void updateFacetCounts(CostumeFacets facets, BitSet base, BitSet priceFilter,
+                                   BitSet eventFilter, BitSet sizeFilter) {
+        BitSet withSize = (BitSet) base.clone();
+        withSize.and(priceFilter);
+        withSize.and(sizeFilter);
+        allEventsCount = withSize.cardinality();
+        for (CostumeEvent event : CostumeEvent.values()) {
+            BitSet matches = facets.event(event);
+            matches.and(withSize);
+            eventCounts[event.ordinal()] = matches.cardinality();
         }
 
-      
-        filteredCostumes.clear();
-        for (Costume costume : allCostumes) {
-            boolean matches = true;
-            
-     
-            if (!searchText.isEmpty()) {
-                matches &= costume.getCostumeName().toLowerCase().contains(searchText);
-            }
-            
+        BitSet withEvent = (BitSet) base.clone();
+        withEvent.and(priceFilter);
+        withEvent.and(eventFilter);
+        sizeCounts.put("All", withEvent.cardinality());
+        for (String size : StandardSize.labels()) {
+            BitSet matches = facets.size(size);
+            matches.and(withEvent);
+            sizeCounts.put(size, matches.cardinality());
+        }
 
-            if (selectedEvent != null) {
-                matches &= costume.getEvent() == selectedEvent;
-            }
-  
-            if (!"All".equals(selectedSize)) {
-                matches &= costume.getSize().equals(selectedSize);
+        BitSet withEventAndSize = (BitSet) base.clone();
+        withEventAndSize.and(eventFilter);
+        withEventAndSize.and(sizeFilter);
+        priceBucketCounts.put("Any price", withEventAndSize.cardinality());
+        for (int bucket = 0; bucket < CostumeFacets.priceBucketCount(); bucket++) {
+            BitSet matches = facets.priceBucket(bucket);
+            matches.and(withEventAndSize);
+            priceBucketCounts.put(priceBucketLabel(bucket), matches.cardinality());
+        }
+        eventComboBox.repaint();
+        sizeComboBox.repaint();
+        priceBucketComboBox.repaint();
+    }
+
+    private static String priceBucketLabel(int bucket) {
+        double low = CostumeFacets.priceBucketLow(bucket);
+        double high = CostumeFacets.priceBucketHigh(bucket);
+        return high == Double.MAX_VALUE ? String.format("$%.0f+", low) : String.format("$%.0f-%.0f", low, high);
+    }
+
+    // Fills the price fields from the chosen bucket; prices are in cents, so the bucket's
+    // exclusive upper bound becomes the cent below it
+    private void applyPriceBucket() {
+        int bucket = priceBucketComboBox.getSelectedIndex() - 1;
+        if (bucket < 0) {
+            minPriceField.setText("");
+            maxPriceField.setText("");
+        } else {
+            double high = CostumeFacets.priceBucketHigh(bucket);
+            // Locale.ROOT: the fields are read back with Double.parseDouble
+            minPriceField.setText(String.format(Locale.ROOT, "%.0f", CostumeFacets.priceBucketLow(bucket)));
+            maxPriceField.setText(high == Double.MAX_VALUE ? "" : String.format(Locale.ROOT, "%.2f", high - 0.01));
+        }
+        performSearch();
+    }
+
+    // Costumes with at least one size in stock today. Recomputed only when the snapshot
+    // or the date changes, not on every keystroke.
+    private void refreshAvailability() {
+        LocalDate today = RentalClock.today();
+        if (availableToday != null && availabilityVersion == snapshot.getVersion() && today.equals(availabilityDate)) {
+            return;
+        }
+        BitSet available = new BitSet();
+        for (Costume costume : snapshot.getCostumes()) {
+            if (hasAvailableStock(costume)) {
+                available.set(IdDictionary.COSTUMES.find(costume.getCostumeId()));
             }
-            
-           
-            matches &= costume.getPrice() >= minPrice && costume.getPrice() <= maxPrice;
-            
-           
-            matches &= hasAvailableStock(costume);
-       
-            
-            if (matches) {
-                filteredCostumes.add(costume);
+        }
+        availableToday = available;
+        availabilityVersion = snapshot.getVersion();
+        availabilityDate = today;
+    }
+
+    // Shows "value (count)" for a facet combo box entry
+    private static class FacetCountRenderer extends DefaultListCellRenderer {
+        private final java.util.function.Function<Object, Integer> countOf;
+
+        FacetCountRenderer(java.util.function.Function<Object, Integer> countOf) {
+            this.countOf = countOf;
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            String label = value == null ? "All" : value.toString();
+            Integer count = countOf.apply(value);
+            if (count != null) {
+                label += " (" + count + ")";
             }
+            return super.getListCellRendererComponent(list, label, index, isSelected, cellHasFocus);
         }
-        
-        displayCostumes(filteredCostumes);
     }
 
     private void resetFilters() {
         searchField.setText("");
         eventComboBox.setSelectedIndex(0);
         sizeComboBox.setSelectedIndex(0);
+        priceBucketComboBox.setSelectedIndex(0);
         minPriceField.setText("");
         maxPriceField.setText("");
+        searchTimer.stop();
+        suggestionPopup.setVisible(false);
         displayAllCostumes();
     }
 
     private void displayAllCostumes() {
+        snapshot = inventory.current();
+        allCostumes = snapshot.getCostumes();
         filteredCostumes = new ArrayList<>(allCostumes);
+        refreshAvailability();
+        CostumeFacets facets = snapshot.getFacets();
+        // Same base as performSearch, so the counts keep their meaning after a reset
+        updateFacetCounts(facets, (BitSet) availableToday.clone(), facets.all(), facets.all(), facets.all());
         displayCostumes(filteredCostumes);
     }
 
@@ -405,11 +665,9 @@ public class CostumeSearchFrame extends JFrame {
         
      
         StringBuilder sizeStockInfo = new StringBuilder();
-        for (String size : STANDARD_SIZE_ORDER) {
-            if (costume.getAvailableSizes().contains(size)) {
-                int availableStock = getAvailableStock(costume.getCostumeId(), size);
-                sizeStockInfo.append(size).append("(").append(availableStock).append("), ");
-            }
+        for (String size : costume.getAvailableSizes()) {
+            int availableStock = getAvailableStock(costume.getCostumeId(), size);
+            sizeStockInfo.append(size).append("(").append(availableStock).append("), ");
         }
         if (sizeStockInfo.length() > 0) {
             sizeStockInfo.setLength(sizeStockInfo.length() - 2); 
@@ -0,0 +1,80 @@
+package gui;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable number of booked units per day for one SKU.
+// Stored as a dense int array from the first booked day; plus() returns a new copy.
+public final class DailyReservationCounts {
+    public static final DailyReservationCounts EMPTY = new DailyReservationCounts(0, new int[0]);
+
+    private final long firstEpochDay;
+    private final int[] counts;
+
+    private DailyReservationCounts(long firstEpochDay, int[] counts) {
+        this.firstEpochDay = firstEpochDay;
+        this.counts = counts;
+    }
+
+    // Build in one pass from {startEpochDay, endEpochDay} pairs (used for the initial load)
+    static DailyReservationCounts fromRanges(List<long[]> ranges) {
+        if (ranges.isEmpty()) return EMPTY;
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        for (long[] range : ranges) {
+            first = Math.min(first, range[0]);
+            last = Math.max(last, range[1]);
+        }
+        int[] counts = new int[(int) (last - first + 1)];
+        for (long[] range : ranges) {
+            for (long day = range[0]; day <= range[1]; day++) {
+                counts[(int) (day - first)]++;
+            }
+        }
+        return new DailyReservationCounts(first, counts);
+    }
+
+    public int get(LocalDate date) {
+        long index = date.toEpochDay() - firstEpochDay;
+        if (index < 0 || index >= counts.length) return 0;
+        return counts[(int) index];
+    }
+
+    public boolean isEmpty() {
+        for (int count : counts) {
+            if (count != 0) return false;
+        }
+        return true;
+    }
+
+    // Copy with delta added to every day from startDate to endDate (inclusive)
+    public DailyReservationCounts plus(LocalDate startDate, LocalDate endDate, int delta) {
+        long start = startDate.toEpochDay();
+        long end = endDate.toEpochDay();
+        if (end < start) return this;
+
+        long newFirst = counts.length == 0 ? start : Math.min(firstEpochDay, start);
+        long newLast = counts.length == 0 ? end : Math.max(firstEpochDay + counts.length - 1, end);
+        int[] newCounts = new int[(int) (newLast - newFirst + 1)];
+        if (counts.length > 0) {
+            System.arraycopy(counts, 0, newCounts, (int) (firstEpochDay - newFirst), counts.length);
+        }
+        for (long day = start; day <= end; day++) {
+            newCounts[(int) (day - newFirst)] += delta;
+        }
+        return new DailyReservationCounts(newFirst, newCounts);
+    }
+
+    public Map<LocalDate, Integer> asMap() {
+        Map<LocalDate, Integer> map = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                map.put(LocalDate.ofEpochDay(firstEpochDay + i), counts[i]);
+            }
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
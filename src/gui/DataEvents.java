@@ -0,0 +1,105 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Java Flight Recorder events for the persistence and availability paths, so a recording
+// (e.g. -XX:StartFlightRecording:filename=rental.jfr) shows which business operations
+// drive file I/O and allocation. Each event's duration covers the whole operation.
+// The events cost next to nothing while no recording is running: fields are only
+// filled in after shouldCommit().
+public final class DataEvents {
+    private DataEvents() {
+    }
+
+    @Name("gui.FileRead")
+    @Label("File Read")
+    @Category({"Costume Rental", "Data"})
+    @Description("A data file read in full")
+    static class FileRead extends Event {
+        @Label("File") String file;
+        @Label("Records") @Description("Lines read") int records;
+        @Label("Bytes") @DataAmount long bytes;
+    }
+
+    @Name("gui.FileWrite")
+    @Label("File Write")
+    @Category({"Costume Rental", "Data"})
+    @Description("A data file replaced atomically, including the fsync")
+    static class FileWrite extends Event {
+        @Label("File") String file;
+        @Label("Records") @Description("Lines written, -1 for binary files") int records;
+        @Label("Bytes") @DataAmount long bytes;
+    }
+
+    @Name("gui.RentalsLoad")
+    @Label("Rentals Load")
+    @Category({"Costume Rental", "Data"})
+    @Description("Rentals loaded into the working set from the data snapshot or rentals.csv")
+    static class RentalsLoad extends Event {
+        @Label("File") String file;
+        @Label("Records") int records;
+        @Label("Bytes") @Description("Size of the source file") @DataAmount long bytes;
+    }
+
+    @Name("gui.RentalsSave")
+    @Label("Rentals Save")
+    @Category({"Costume Rental", "Data"})
+    @Description("The rental working set written to rentals.csv")
+    static class RentalsSave extends Event {
+        @Label("File") String file;
+        @Label("Records") int records;
+        @Label("Bytes") @DataAmount long bytes;
+    }
+
+    @Name("gui.CatalogLoad")
+    @Label("Catalog Load")
+    @Category({"Costume Rental", "Data"})
+    @Description("The costume catalog loaded from the data snapshot or costumes.csv")
+    static class CatalogLoad extends Event {
+        @Label("File") String file;
+        @Label("Records") int records;
+        @Label("Bytes") @Description("Size of the source file") @DataAmount long bytes;
+    }
+
+    // Availability checks run per keystroke and per booking; only slow ones are recorded
+    // unless the recording settings lower the threshold
+    @Name("gui.AvailabilityCheck")
+    @Label("Availability Check")
+    @Category({"Costume Rental", "Data"})
+    @Description("Stock check of one costume size over a rental period")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static class AvailabilityCheck extends Event {
+        @Label("File") @Description("Files read for the check, comma-separated; empty when answered from memory") String file;
+        @Label("Costume") String costumeId;
+        @Label("Size") String size;
+        @Label("Records") @Description("Days checked") int records;
+        @Label("Bytes") @Description("Bytes read from all those files, 0 when answered from memory") @DataAmount long bytes;
+        @Label("Available") boolean available;
+    }
+
+    static String fileName(Path path) {
+        Path name = path.getFileName();
+        return name == null ? path.toString() : name.toString();
+    }
+
+    // Size of a file for an event about to be committed, -1 if it cannot be read
+    static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package gui;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Binary copy of the parsed costumes, rentals and members (gui/data.snapshot), so startup
+// does not have to parse the CSV files line by line.
+//
+// Layout (big-endian, DataOutputStream):
+//   header:   int magic, int format version, then per section (costumes, rentals, members)
+//             long source modification time, long source size, int offset, int length
+//   sections: each one self-contained, starting with its own string table (int count, then
+//             each string as UTF); every text field is an int index into that table (-1 = null)
+//   costumes: int count, then per costume
+//             id, name, event ordinal, price in cents, int sizeCount x (size, stock), image path
+//   rentals:  the member, costume and size IdDictionary, each as int count followed by the
+//             string index of every value in code order; highest rental number, int count,
+//             then per rental id, member/costume/size dictionary code,
+//             rental/return/actual-return epoch day, total/daily rate/late fee in cents, status ordinal
+//   members:  int count, then per member the seven text fields
+//
+// Each section carries the modification time and size of the CSV file it was taken from.
+// A section whose CSV has changed since is stale and the caller parses the CSV instead.
+// The CSV files stay the source of truth; this file is only a cache. None of it is kept
+// in memory: a load reads the header and that one section from disk and decodes it.
+public class DataSnapshot {
+    static final Path SNAPSHOT_PATH = Paths.get("./gui/data.snapshot");
+    static final Path COSTUMES_CSV = Paths.get("./gui/costumes.csv");
+    static final Path RENTALS_CSV = Paths.get("./gui/rentals.csv");
+    static final Path MEMBERS_CSV = Paths.get("./gui/Registrater.csv");
+
+    private static final int MAGIC = 0x52534E50; // "RSNP"
+    private static final int FORMAT_VERSION = 3;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int COSTUMES = 0;
+    private static final int RENTALS = 1;
+    private static final int MEMBERS = 2;
+    private static final Path[] SOURCES = { COSTUMES_CSV, RENTALS_CSV, MEMBERS_CSV };
+    private static final int ENTRY_BYTES = 8 + 8 + 4 + 4;
+    private static final int HEADER_BYTES = 4 + 4 + 3 * ENTRY_BYTES;
+
+    private static DataSnapshot instance;
+    private static final MetricsRegistry.Counter SECTION_HITS = MetricsRegistry.getInstance().counter("cache.snapshot.hits");
+    private static final MetricsRegistry.Counter SECTION_MISSES = MetricsRegistry.getInstance().counter("cache.snapshot.misses");
+
+    private boolean reportedOldFormat;
+
+    private DataSnapshot() {
+    }
+
+    public static synchronized DataSnapshot getInstance() {
+        if (instance == null) {
+            instance = new DataSnapshot();
+        }
+        return instance;
+    }
+
+    // Result of loading the rentals section
+    public static class RentalSection {
+        public final List<Rental> rentals;
+        public final int highestRentalNumber;
+
+        RentalSection(List<Rental> rentals, int highestRentalNumber) {
+            this.rentals = rentals;
+            this.highestRentalNumber = highestRentalNumber;
+        }
+    }
+
+    // Readers: each returns null if the snapshot has no up-to-date copy of that file
+
+    public synchronized List<Costume> loadCostumes() {
+        Section in = openSection(COSTUMES);
+        if (in == null) return null;
+        try {
+            int count = in.readInt();
+            List<Costume> costumes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = in.string();
+                String name = in.string();
+                CostumeEvent event = CostumeEvent.values()[in.readUnsignedByte()];
+                double price = in.readLong() / 100.0;
+                int sizeCount = in.readUnsignedByte();
+                Map<String, Integer> sizeStock = new HashMap<>();
+                for (int s = 0; s < sizeCount; s++) {
+                    String size = in.string();
+                    sizeStock.put(size, in.readInt());
+                }
+                Costume costume = new Costume(id, name, event, price, in.string());
+                costume.setSizeStock(sizeStock);
+                costumes.add(costume);
+            }
+            return costumes;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading costumes from data snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized RentalSection loadRentals() {
+        Section in = openSection(RENTALS);
+        if (in == null) return null;
+        try {
+            // Codes in the file are remapped in case this run already interned other values
+            int[] members = in.internDictionary(IdDictionary.MEMBERS);
+            int[] costumes = in.internDictionary(IdDictionary.COSTUMES);
+            int[] sizes = in.internDictionary(IdDictionary.SIZES);
+            int highestRentalNumber = in.readInt();
+            int count = in.readInt();
+            Rental.RentalStatus[] statuses = Rental.RentalStatus.values();
+            List<Rental> rentals = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String id = in.string();
+                int memberCode = members[in.readInt()];
+                int costumeCode = costumes[in.readInt()];
+                int sizeCode = sizes[in.readInt()];
+                LocalDate rentalDate = LocalDate.ofEpochDay(in.readInt());
+                LocalDate returnDate = LocalDate.ofEpochDay(in.readInt());
+                int actual = in.readInt();
+                LocalDate actualReturnDate = actual == NO_DATE ? null : LocalDate.ofEpochDay(actual);
+                double totalCost = in.readLong() / 100.0;
+                double dailyRate = in.readLong() / 100.0;
+                double lateFee = in.readLong() / 100.0;
+                Rental.RentalStatus status = statuses[in.readUnsignedByte()];
+                rentals.add(new Rental(id, memberCode, costumeCode, sizeCode, rentalDate, returnDate,
+                                       actualReturnDate, totalCost, dailyRate, lateFee, status));
+            }
+            return new RentalSection(rentals, highestRentalNumber);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading rentals from data snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public synchronized List<FileIO.MemberData> loadMembers() {
+        Section in = openSection(MEMBERS);
+        if (in == null) return null;
+        try {
+            int count = in.readInt();
+            List<FileIO.MemberData> members = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                members.add(new FileIO.MemberData(in.string(), in.string(), in.string(), in.string(),
+                                                  in.string(), in.string(), in.string()));
+            }
+            return members;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading members from data snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // True if every section matches its CSV file, i.e. writing again would change nothing
+    public synchronized boolean isUpToDate() {
+        long[][] entries = readHeader();
+        if (entries == null) return false;
+        for (int section = 0; section < SOURCES.length; section++) {
+            if (!isFresh(entries[section], SOURCES[section])) return false;
+        }
+        return true;
+    }
+
+    // Writer. The caller holds the data directory lock and passes the state that matches
+    // the CSV files as they are now.
+    public synchronized void save(List<Costume> costumes, List<Rental> rentals, int highestRentalNumber,
+                                  List<FileIO.MemberData> members) throws IOException {
+        byte[][] sections = new byte[SOURCES.length][];
+
+        SectionWriter out = new SectionWriter(64 + costumes.size() * 48);
+        out.writeInt(costumes.size());
+        for (Costume costume : costumes) {
+            out.writeString(costume.getCostumeId());
+            out.writeString(costume.getCostumeName());
+            out.writeByte(costume.getEvent().ordinal());
+            out.writeLong(cents(costume.getPrice()));
+            out.writeByte(costume.getSizeStock().size());
+            for (Map.Entry<String, Integer> entry : costume.getSizeStock().entrySet()) {
+                out.writeString(entry.getKey());
+                out.writeInt(entry.getValue());
+            }
+            out.writeString(costume.getImagePath());
+        }
+        sections[COSTUMES] = out.toByteArray();
+
+        out = new SectionWriter(64 + rentals.size() * 56);
+        // Every rental passed in is already interned, so these cover all their codes
+        for (IdDictionary dictionary : new IdDictionary[] { IdDictionary.MEMBERS, IdDictionary.COSTUMES, IdDictionary.SIZES }) {
+            List<String> values = dictionary.values();
+            out.writeInt(values.size());
+            for (String value : values) {
+                out.writeString(value);
+            }
+        }
+        out.writeInt(highestRentalNumber);
+        out.writeInt(rentals.size());
+        for (Rental rental : rentals) {
+            out.writeString(rental.getRentalId());
+            out.writeInt(rental.getMemberCode());
+            out.writeInt(rental.getCostumeCode());
+            out.writeInt(rental.getSizeCode());
+            out.writeInt((int) rental.getRentalDate().toEpochDay());
+            out.writeInt((int) rental.getReturnDate().toEpochDay());
+            out.writeInt(rental.getActualReturnDate() == null ? NO_DATE : (int) rental.getActualReturnDate().toEpochDay());
+            out.writeLong(cents(rental.getTotalCost()));
+            out.writeLong(cents(rental.getDailyRate()));
+            out.writeLong(cents(rental.getLateFee()));
+            out.writeByte(rental.getStatus().ordinal());
+        }
+        sections[RENTALS] = out.toByteArray();
+
+        out = new SectionWriter(64 + members.size() * 28);
+        out.writeInt(members.size());
+        for (FileIO.MemberData member : members) {
+            out.writeString(member.getName());
+            out.writeString(member.getMemberId());
+            out.writeString(member.getEmail());
+            out.writeString(member.getPhone());
+            out.writeString(member.getPassword());
+            out.writeString(member.getAddress());
+            out.writeString(member.getRegistrationDate());
+        }
+        sections[MEMBERS] = out.toByteArray();
+
+        int length = HEADER_BYTES;
+        for (byte[] section : sections) {
+            length += section.length;
+        }
+        ByteArrayOutputStream file = new ByteArrayOutputStream(length);
+        DataOutputStream header = new DataOutputStream(file);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT_VERSION);
+        int offset = HEADER_BYTES;
+        for (int section = 0; section < SOURCES.length; section++) {
+            long[] stamp = stamp(SOURCES[section]);
+            header.writeLong(stamp[0]);
+            header.writeLong(stamp[1]);
+            header.writeInt(offset);
+            header.writeInt(sections[section].length);
+            offset += sections[section].length;
+        }
+        for (byte[] section : sections) {
+            header.write(section);
+        }
+        header.flush();
+        AtomicFileWriter.write(SNAPSHOT_PATH, file.toByteArray());
+    }
+
+    // Per section {source modification time, source size, offset, length}, or null if there
+    // is no snapshot in the current format
+    private long[][] readHeader() {
+        if (!Files.exists(SNAPSHOT_PATH)) return null;
+        try (FileChannel channel = FileChannel.open(SNAPSHOT_PATH, StandardOpenOption.READ)) {
+            return readHeader(channel);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable data snapshot: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private long[][] readHeader(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) return null;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(read(channel, 0, HEADER_BYTES)));
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+            if (!reportedOldFormat) {
+                System.out.println("Data snapshot has an old format; it will be rebuilt");
+                reportedOldFormat = true;
+            }
+            return null;
+        }
+        long[][] entries = new long[SOURCES.length][];
+        for (int section = 0; section < SOURCES.length; section++) {
+            entries[section] = new long[] { in.readLong(), in.readLong(), in.readInt(), in.readInt() };
+            if (entries[section][2] + entries[section][3] > channel.size()) {
+                throw new IOException("Truncated data snapshot");
+            }
+        }
+        return entries;
+    }
+
+    // Header and section are read through one channel, so a snapshot replaced by another
+    // terminal in between cannot mix the header of one file with the data of the other
+    private Section openSection(int section) {
+        if (!Files.exists(SNAPSHOT_PATH)) {
+            SECTION_MISSES.increment();
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(SNAPSHOT_PATH, StandardOpenOption.READ)) {
+            long[][] entries = readHeader(channel);
+            if (entries == null || !isFresh(entries[section], SOURCES[section])) {
+                SECTION_MISSES.increment();
+                return null;
+            }
+            byte[] bytes = read(channel, entries[section][2], (int) entries[section][3]);
+            MetricsRegistry.getInstance().recordFileRead(SNAPSHOT_PATH, HEADER_BYTES + bytes.length);
+            SECTION_HITS.increment();
+            return new Section(bytes);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable data snapshot: " + e.getMessage());
+            SECTION_MISSES.increment();
+            return null;
+        }
+    }
+
+    private static boolean isFresh(long[] entry, Path source) {
+        long[] stamp = stamp(source);
+        return entry[0] == stamp[0] && entry[1] == stamp[1];
+    }
+
+    // Modification time (ns) and size of a CSV file, or -1s if it does not exist
+    static long[] stamp(Path file) {
+        try {
+            return new long[] { Files.getLastModifiedTime(file).to(TimeUnit.NANOSECONDS), Files.size(file) };
+        } catch (IOException e) {
+            return new long[] { -1, -1 };
+        }
+    }
+
+    private static byte[] read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated data snapshot");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static long cents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    // One section being decoded: its string table, then the records
+    private static class Section extends DataInputStream {
+        private final String[] strings;
+
+        Section(byte[] bytes) throws IOException {
+            super(new ByteArrayInputStream(bytes));
+            strings = new String[readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readUTF();
+            }
+        }
+
+        String string() throws IOException {
+            int code = readInt();
+            return code < 0 ? null : strings[code];
+        }
+
+        // Persisted code -> code in this run
+        int[] internDictionary(IdDictionary dictionary) throws IOException {
+            int[] codes = new int[readInt()];
+            for (int i = 0; i < codes.length; i++) {
+                codes[i] = dictionary.intern(string());
+            }
+            return codes;
+        }
+    }
+
+    // One section being encoded; the string table is written in front of the records
+    private static class SectionWriter extends DataOutputStream {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> table = new ArrayList<>();
+
+        SectionWriter(int size) {
+            super(new ByteArrayOutputStream(size));
+        }
+
+        void writeString(String value) throws IOException {
+            if (value == null) {
+                writeInt(-1);
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = table.size();
+                codes.put(value, code);
+                table.add(value);
+            }
+            writeInt(code);
+        }
+
+        byte[] toByteArray() throws IOException {
+            flush();
+            ByteArrayOutputStream records = (ByteArrayOutputStream) out;
+            ByteArrayOutputStream section = new ByteArrayOutputStream(records.size() + table.size() * 16 + 4);
+            DataOutputStream header = new DataOutputStream(section);
+            header.writeInt(table.size());
+            for (String value : table) {
+                header.writeUTF(value);
+            }
+            records.writeTo(header);
+            header.flush();
+            return section.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package gui;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Detects Swing event dispatches that block the event thread for longer than a threshold
+// (-Drental.edt.stallMillis, default 200, 0 turns it off).
+// A timing EventQueue marks when each dispatch starts; a daemon thread samples it and takes
+// the EDT stack once a dispatch runs past the threshold. When the dispatch ends the stall is
+// attributed to the UI method that called into the data layer and to the data-layer operation
+// it was stuck in, logged, and added to per-call-site statistics (also in MetricsRegistry
+// as "edt.stall.<call site>").
+public final class EdtWatchdog {
+    private static final int STACK_LINES = 25;
+
+    // Classes whose public methods count as the operation in flight
+    private static final Set<String> SERVICE_CLASSES = Set.of(
+        "gui.FileIO", "gui.RentalService", "gui.CostumeDataManager", "gui.InventoryState",
+        "gui.RentalArchive", "gui.DataSnapshot", "gui.SharedDataDirectory", "gui.AtomicFileWriter");
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final Map<String, CallSite> callSites = new ConcurrentHashMap<>();
+
+    // Current dispatch, written by the EDT only; start is 0 while the EDT is idle
+    private volatile Thread eventThread;
+    private volatile long dispatchStart;
+    private volatile long dispatchId;
+    private long dispatchCount;
+
+    // Stack taken by the sampler for the dispatch that is running too long
+    private volatile long sampledId = -1;
+    private volatile StackTraceElement[] sampledStack;
+
+    private static final class CallSite {
+        final LatencyHistogram durations;
+        final Map<String, Integer> operations = new TreeMap<>();
+        boolean stackPrinted;
+
+        CallSite(String name) {
+            durations = MetricsRegistry.getInstance().histogram("edt.stall." + name);
+        }
+    }
+
+    private EdtWatchdog(long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    // Installs the watchdog unless it is turned off; call once before the first window opens
+    public static synchronized void install() {
+        if (instance != null) return;
+        long thresholdMillis = Long.getLong("rental.edt.stallMillis", 200);
+        if (thresholdMillis <= 0) return;
+
+        instance = new EdtWatchdog(thresholdMillis);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(instance.new TimingEventQueue());
+        Thread sampler = new Thread(instance::sample, "edt-watchdog");
+        sampler.setDaemon(true);
+        sampler.start();
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                String summary = instance.getSummary();
+                if (!summary.isEmpty()) System.err.print(summary);
+            }, "edt-watchdog-summary"));
+        } catch (IllegalStateException e) {
+            // Installed during shutdown; nothing will stall anymore
+        }
+        System.out.println("EDT watchdog reporting dispatches over " + thresholdMillis + " ms");
+    }
+
+    public static synchronized EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    private final class TimingEventQueue extends EventQueue {
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            // A modal dialog dispatches nested events from inside an outer dispatch; the
+            // outer one is not blocked while that happens, so its clock restarts afterwards
+            long outerStart = dispatchStart;
+            long outerId = dispatchId;
+            long id = ++dispatchCount;
+            eventThread = Thread.currentThread();
+            dispatchId = id;
+            dispatchStart = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long elapsed = System.nanoTime() - dispatchStart;
+                if (elapsed >= thresholdNanos) {
+                    stallEnded(id, elapsed);
+                }
+                dispatchId = outerId;
+                dispatchStart = outerStart == 0 ? 0 : System.nanoTime();
+            }
+        }
+    }
+
+    private void sample() {
+        long intervalMillis = Math.max(10, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 4);
+        while (true) {
+            try {
+                Thread.sleep(intervalMillis);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = dispatchStart;
+            long id = dispatchId;
+            Thread thread = eventThread;
+            if (start != 0 && thread != null && id != sampledId && System.nanoTime() - start >= thresholdNanos) {
+                StackTraceElement[] stack = thread.getStackTrace();
+                if (dispatchId == id) {
+                    sampledStack = stack;
+                    sampledId = id;
+                }
+            }
+        }
+    }
+
+    // Runs on the EDT at the end of a slow dispatch
+    private void stallEnded(long id, long elapsedNanos) {
+        StackTraceElement[] stack = sampledId == id ? sampledStack : null;
+        String callSite = "(not sampled)";
+        String operation = "-";
+        if (stack != null) {
+            int service = outermostServiceFrame(stack);
+            if (service >= 0) {
+                operation = methodName(stack[service]);
+                if (service + 1 < stack.length) callSite = methodName(stack[service + 1]);
+            } else {
+                int ui = innermostAppFrame(stack);
+                if (ui >= 0) callSite = methodName(stack[ui]);
+            }
+        }
+
+        CallSite site = callSites.computeIfAbsent(callSite, CallSite::new);
+        site.durations.recordNanos(elapsedNanos);
+        boolean printStack;
+        synchronized (site) {
+            site.operations.merge(operation, 1, Integer::sum);
+            printStack = stack != null && !site.stackPrinted;
+            site.stackPrinted |= printStack;
+        }
+
+        System.err.println("EDT blocked for " + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms in "
+            + callSite + (operation.equals("-") ? "" : " during " + operation));
+        if (printStack) {
+            for (int i = 0; i < Math.min(stack.length, STACK_LINES); i++) {
+                // The frames below the event are the same for every dispatch
+                if (stack[i].getClassName().startsWith("java.awt.EventQueue")) break;
+                System.err.println("    at " + stack[i]);
+            }
+        }
+    }
+
+    private static int outermostServiceFrame(StackTraceElement[] stack) {
+        for (int i = stack.length - 1; i >= 0; i--) {
+            if (SERVICE_CLASSES.contains(stack[i].getClassName())) return i;
+        }
+        return -1;
+    }
+
+    private static int innermostAppFrame(StackTraceElement[] stack) {
+        for (int i = 0; i < stack.length; i++) {
+            String className = stack[i].getClassName();
+            if (className.startsWith("gui.") && !className.startsWith(EdtWatchdog.class.getName())) return i;
+        }
+        return -1;
+    }
+
+    private static String methodName(StackTraceElement frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName();
+    }
+
+    // Stalls per call site, worst total first: count, total / mean / max in ms, operations seen
+    public String getSummary() {
+        List<Map.Entry<String, CallSite>> sites = new ArrayList<>(callSites.entrySet());
+        if (sites.isEmpty()) return "";
+        sites.sort(Comparator.comparingDouble(
+            (Map.Entry<String, CallSite> e) -> -e.getValue().durations.getMeanMillis() * e.getValue().durations.getCount()));
+
+        StringBuilder out = new StringBuilder("EDT stalls by call site (count, total / mean / max ms):\n");
+        for (Map.Entry<String, CallSite> entry : sites) {
+            LatencyHistogram durations = entry.getValue().durations;
+            String operations;
+            synchronized (entry.getValue()) {
+                operations = entry.getValue().operations.toString();
+            }
+            out.append(String.format("  %-45s %6d %10.0f %8.0f %8.0f  %s%n", entry.getKey(), durations.getCount(),
+                durations.getMeanMillis() * durations.getCount(), durations.getMeanMillis(),
+                durations.getMaxMillis(), operations));
+        }
+        return out.toString();
+    }
+}
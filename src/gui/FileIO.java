@@ -5,22 +5,41 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 
 public class FileIO {
     private static final Path REGISTRATER_PATH = Paths.get("./gui/Registrater.csv");
     private static final Path COSTUMES_PATH = Paths.get("./gui/costumes.csv");
     private static final Path RENTALS_PATH = Paths.get("./gui/rentals.csv");
+    private static final LatencyHistogram READ_TIME = MetricsRegistry.timer("FileIO.readLines");
+
+    // Files and bytes read by the current thread while an operation that spans several
+    // reads (e.g. an availability check) is being measured; null when nothing is measured
+    private static final ThreadLocal<ReadTally> READ_TALLY = new ThreadLocal<>();
+
+    private static class ReadTally {
+        final Set<String> files = new LinkedHashSet<>();
+        long bytes;
+    }
     
     private static FileIO instance;
 
+    // Parsed Registrater.csv, reused until the file changes on disk
+    private List<MemberData> memberCache;
+    private static final MetricsRegistry.Counter MEMBER_CACHE_HITS = MetricsRegistry.getInstance().counter("cache.members.hits");
+    private static final MetricsRegistry.Counter MEMBER_CACHE_MISSES = MetricsRegistry.getInstance().counter("cache.members.misses");
+    private long[] memberCacheStamp;
+
     // Private constructor for Singleton
     private FileIO() {
         initializeAllFiles();
@@ -59,21 +78,55 @@ public class FileIO {
     // Generic method to read all lines from any file
     public List<String> readAllLines(String filePath) {
         try {
-            return Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+            return readLines(Paths.get(filePath));
         } catch (IOException e) {
             System.err.println("Error reading file: " + filePath + " - " + e.getMessage());
             return Collections.emptyList();
         }
     }
 
-    // Generic method to write all lines to any file
+    // Files.readAllLines, with the bytes read counted per file
+    static List<String> readLines(Path path) throws IOException {
+        DataEvents.FileRead event = new DataEvents.FileRead();
+        event.begin();
+        long start = System.nanoTime();
+        byte[] bytes = Files.readAllBytes(path);
+        MetricsRegistry.getInstance().recordFileRead(path, bytes.length);
+        ReadTally tally = READ_TALLY.get();
+        if (tally != null) {
+            tally.files.add(DataEvents.fileName(path));
+            tally.bytes += bytes.length;
+        }
+        List<String> lines = new String(bytes, StandardCharsets.UTF_8).lines().collect(Collectors.toCollection(ArrayList::new));
+        READ_TIME.record(start);
+        if (event.shouldCommit()) {
+            event.file = DataEvents.fileName(path);
+            event.records = lines.size();
+            event.bytes = bytes.length;
+            event.commit();
+        }
+        return lines;
+    }
+
+    // Generic method to write all lines to any file (atomically replaces the old content)
     public boolean writeAllLines(String filePath, List<String> lines) {
+        return withDataLock(() -> {
+            try {
+                AtomicFileWriter.writeLines(Paths.get(filePath), lines);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error writing to file: " + filePath + " - " + e.getMessage());
+                return false;
+            }
+        });
+    }
+
+    // Run a read-modify-write of a data file under the lock shared with other terminals
+    public boolean withDataLock(SharedDataDirectory.LockedAction<Boolean> action) {
         try {
-            Files.write(Paths.get(filePath), lines, StandardCharsets.UTF_8, 
-                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            return true;
+            return SharedDataDirectory.getInstance().withWriteLock(action);
         } catch (IOException e) {
-            System.err.println("Error writing to file: " + filePath + " - " + e.getMessage());
+            System.err.println("Error locking data directory: " + e.getMessage());
             return false;
         }
     }
@@ -81,16 +134,22 @@ public class FileIO {
 
 
     public boolean write(String name, String memberId, String email, String phone, String password, String address) {
+        return withDataLock(() -> writeLocked(name, memberId, email, phone, password, address));
+    }
+
+    private boolean writeLocked(String name, String memberId, String email, String phone, String password, String address) {
         if (isMemberIdExists(memberId)) {
             System.err.println("Cannot write member data: Member ID already exists");
             return false;
         }
 
-        String registrationDate = LocalDate.now().toString();
+        String registrationDate = RentalClock.today().toString();
         String line = String.join(",", escape(name), memberId, escape(email), phone, password, escape(address), registrationDate);
         try {
-            Files.write(REGISTRATER_PATH, Collections.singletonList(line), StandardCharsets.UTF_8,
-                       StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            // Rewrite instead of appending so a crash can never leave a half-written member line
+            List<String> lines = readLines(REGISTRATER_PATH);
+            lines.add(line);
+            AtomicFileWriter.writeLines(REGISTRATER_PATH, lines);
             return true;
         } catch (IOException e) {
             System.err.println("Error writing to registrations file: " + e.getMessage());
@@ -101,10 +160,8 @@ public class FileIO {
     
     public boolean isMemberIdExists(String memberId) {
         if (memberId == null || memberId.trim().isEmpty()) return false;
-        List<String> lines = readAllLines(REGISTRATER_PATH.toString());
-        for (String line : lines) {
-            String[] parts = line.split(",");
-            if (parts.length >= 2 && parts[1].trim().equals(memberId.trim())) {
+        for (MemberData member : cachedMembers()) {
+            if (member.getMemberId().equals(memberId.trim())) {
                 return true;
             }
         }
@@ -116,10 +173,8 @@ public class FileIO {
          if (memberId == null || password == null || memberId.trim().isEmpty() || password.isEmpty()) {
             return false;
         }
-        List<String> lines = readAllLines(REGISTRATER_PATH.toString());
-        for (String line : lines) {
-            String[] parts = line.split(",");
-            if (parts.length >= 5 && parts[1].trim().equals(memberId.trim()) && parts[4].equals(password)) {
+        for (MemberData member : cachedMembers()) {
+            if (member.getMemberId().equals(memberId.trim()) && member.getPassword().equals(password)) {
                 return true;
             }
         }
@@ -145,6 +200,25 @@ public class FileIO {
 
   
     public List<MemberData> getAllMembers() {
+        return new ArrayList<>(cachedMembers());
+    }
+
+    // Served from memory while Registrater.csv is unchanged; otherwise re-read, from the
+    // data snapshot if it is current and from the CSV file if not
+    private synchronized List<MemberData> cachedMembers() {
+        long[] stamp = DataSnapshot.stamp(REGISTRATER_PATH);
+        if (memberCache == null || !Arrays.equals(stamp, memberCacheStamp)) {
+            MEMBER_CACHE_MISSES.increment();
+            List<MemberData> members = DataSnapshot.getInstance().loadMembers();
+            memberCache = Collections.unmodifiableList(members != null ? members : parseMembers());
+            memberCacheStamp = stamp;
+        } else {
+            MEMBER_CACHE_HITS.increment();
+        }
+        return memberCache;
+    }
+
+    private List<MemberData> parseMembers() {
         List<MemberData> members = new ArrayList<>();
         List<String> lines = readAllLines(REGISTRATER_PATH.toString());
         for (String line : lines) {
@@ -162,13 +236,17 @@ public class FileIO {
     
 
     public MemberData getMemberData(String memberId) {
-        return getAllMembers().stream()
+        return cachedMembers().stream()
             .filter(m -> m.getMemberId().equals(memberId))
             .findFirst().orElse(null);
     }
     
     // Update an existing member's information
     public boolean updateMember(String memberId, MemberData updatedData) {
+        return withDataLock(() -> updateMemberLocked(memberId, updatedData));
+    }
+
+    private boolean updateMemberLocked(String memberId, MemberData updatedData) {
         List<MemberData> members = getAllMembers();
         boolean memberFound = false;
         for (int i = 0; i < members.size(); i++) {
@@ -190,6 +268,10 @@ public class FileIO {
 
     // Delete a member by ID
     public boolean deleteMember(String memberId) {
+        return withDataLock(() -> deleteMemberLocked(memberId));
+    }
+
+    private boolean deleteMemberLocked(String memberId) {
         List<MemberData> members = getAllMembers();
         boolean removed = members.removeIf(m -> m.getMemberId().equals(memberId));
         if (!removed) return false;
@@ -233,6 +315,29 @@ public class FileIO {
     
     // check for stock availability
     public boolean isStockAvailableForPeriod(String costumeId, String size, LocalDate startDate, LocalDate endDate) {
+        DataEvents.AvailabilityCheck event = new DataEvents.AvailabilityCheck();
+        event.begin();
+        ReadTally tally = new ReadTally();
+        READ_TALLY.set(tally);
+        boolean available;
+        try {
+            available = checkStockForPeriod(costumeId, size, startDate, endDate);
+        } finally {
+            READ_TALLY.remove();
+        }
+        if (event.shouldCommit()) {
+            event.file = String.join(",", tally.files);
+            event.costumeId = costumeId;
+            event.size = size;
+            event.records = (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+            event.bytes = tally.bytes;
+            event.available = available;
+            event.commit();
+        }
+        return available;
+    }
+    
+    private boolean checkStockForPeriod(String costumeId, String size, LocalDate startDate, LocalDate endDate) {
         int maxStock = getCostumeStock(costumeId, size);
         if (maxStock <= 0) return false;
 
@@ -0,0 +1,112 @@
+package gui;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Lock-free per-day occupancy counters for one heavily booked SKU (costume + size).
+// Each slot holds the number of units booked on one day. The slots form a ring indexed by
+// epoch day modulo the horizon, so the window of bookable days can move forward day by day
+// (advanceTo) without copying. A multi-day claim increments every day with CAS and rolls
+// back the days it already took if any day is full, so claims are all-or-nothing without
+// any lock.
+public class HotSkuOccupancy {
+    private volatile long firstEpochDay;
+    private final AtomicIntegerArray dayCounts;
+    private volatile int capacity;
+
+    public HotSkuOccupancy(int capacity, LocalDate firstDay, int horizonDays) {
+        this.capacity = capacity;
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.dayCounts = new AtomicIntegerArray(horizonDays);
+    }
+
+    public int getCapacity() { return capacity; }
+    // A lower capacity only stops new claims; bookings already counted stay
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+    public LocalDate getFirstDay() { return LocalDate.ofEpochDay(firstEpochDay); }
+    public LocalDate getLastDay() { return LocalDate.ofEpochDay(lastEpochDay(firstEpochDay)); }
+
+    public boolean covers(LocalDate startDate, LocalDate endDate) {
+        long first = firstEpochDay;
+        return startDate.toEpochDay() >= first && endDate.toEpochDay() <= lastEpochDay(first)
+               && !endDate.isBefore(startDate);
+    }
+
+    // Take one unit on every day of the period, or none at all
+    public boolean tryClaim(LocalDate startDate, LocalDate endDate) {
+        if (!covers(startDate, endDate)) return false;
+        long first = startDate.toEpochDay();
+        long last = endDate.toEpochDay();
+        for (long day = first; day <= last; day++) {
+            if (!tryIncrement(slotOf(day))) {
+                // Roll back the days already taken by this claim
+                for (long taken = first; taken < day; taken++) {
+                    dayCounts.decrementAndGet(slotOf(taken));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean tryIncrement(int index) {
+        int limit = capacity;
+        while (true) {
+            int current = dayCounts.get(index);
+            if (current >= limit) return false;
+            if (dayCounts.compareAndSet(index, current, current + 1)) return true;
+        }
+    }
+
+    // Days outside the window are skipped
+    public void release(LocalDate startDate, LocalDate endDate) {
+        add(startDate, endDate, -1);
+    }
+
+    // Record an existing booking without a capacity check (used when seeding from rentals.csv)
+    public void addExisting(LocalDate startDate, LocalDate endDate) {
+        add(startDate, endDate, 1);
+    }
+
+    private void add(LocalDate startDate, LocalDate endDate, int delta) {
+        long windowFirst = firstEpochDay;
+        long first = Math.max(windowFirst, startDate.toEpochDay());
+        long last = Math.min(lastEpochDay(windowFirst), endDate.toEpochDay());
+        for (long day = first; day <= last; day++) {
+            dayCounts.addAndGet(slotOf(day), delta);
+        }
+    }
+
+    // Move the window forward so it starts at newFirstDay. The slots of the days that drop
+    // out are cleared and reused for the new days at the end. The caller holds the SKU lock,
+    // so no release can hit a slot while it is being reused; claims never reach those days.
+    public void advanceTo(LocalDate newFirstDay) {
+        long oldFirst = firstEpochDay;
+        long newFirst = newFirstDay.toEpochDay();
+        if (newFirst <= oldFirst) return;
+        long dropped = Math.min(newFirst - oldFirst, dayCounts.length());
+        for (long day = oldFirst; day < oldFirst + dropped; day++) {
+            dayCounts.set(slotOf(day), 0);
+        }
+        firstEpochDay = newFirst;
+    }
+
+    public int getOccupancy(LocalDate date) {
+        long day = date.toEpochDay();
+        long first = firstEpochDay;
+        if (day < first || day > lastEpochDay(first)) return 0;
+        return dayCounts.get(slotOf(day));
+    }
+
+    public int getAvailable(LocalDate date) {
+        return Math.max(0, capacity - getOccupancy(date));
+    }
+
+    private long lastEpochDay(long first) {
+        return first + dayCounts.length() - 1;
+    }
+
+    private int slotOf(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) dayCounts.length());
+    }
+}
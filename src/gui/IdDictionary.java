@@ -0,0 +1,66 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Maps frequently repeated IDs to small int codes, so each Rental stores three ints
+// instead of its own String copies of the member ID, costume ID and size, and lookups
+// like "all rentals of this member" compare ints.
+// Codes are assigned in first-seen order and never reused within a run; DataSnapshot
+// persists the dictionaries so a restart assigns the same codes again.
+public final class IdDictionary {
+    public static final IdDictionary MEMBERS = new IdDictionary();
+    public static final IdDictionary COSTUMES = new IdDictionary();
+    public static final IdDictionary SIZES = new IdDictionary();
+
+    public static final int NOT_FOUND = -1;
+
+    static {
+        // Standard sizes first, so their codes follow StandardSize order
+        for (StandardSize size : StandardSize.values()) {
+            SIZES.intern(size.getLabel());
+        }
+    }
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    // Written only under the monitor; readers get their code from the map or from a
+    // published Rental, both of which happen after the store
+    private volatile String[] values = new String[16];
+    private int size;
+
+    private IdDictionary() {
+    }
+
+    public int intern(String value) {
+        Integer code = codes.get(value);
+        if (code != null) return code;
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) return code;
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size] = value;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    // Code of an existing value, or NOT_FOUND; unlike intern() this never adds a value
+    public int find(String value) {
+        if (value == null) return NOT_FOUND;
+        Integer code = codes.get(value);
+        return code == null ? NOT_FOUND : code;
+    }
+
+    public String get(int code) {
+        return values[code];
+    }
+
+    // All values in code order (used to persist the dictionary)
+    public synchronized List<String> values() {
+        return new ArrayList<>(Arrays.asList(values).subList(0, size));
+    }
+}
@@ -0,0 +1,192 @@
+package gui;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Immutable, versioned view of the costume catalog and its availability.
+// Writers never modify a snapshot; they build a new one with the with*() methods and
+// InventoryState swaps it in atomically, so readers always see a fully applied state.
+public final class InventorySnapshot {
+    private final long version;
+    private final List<Costume> costumes;
+    private final Map<String, Costume> costumesById;
+    private final CostumeNameIndex nameIndex;
+    private final CostumeFacets facets;
+    private final int[] catalogPositionByCode; // IdDictionary.COSTUMES code -> index in costumes, or -1
+    private final SkuReservations reservations;
+    private final int[] rentalCountsByStatus;
+
+    private InventorySnapshot(long version, List<Costume> costumes, Map<String, Costume> costumesById,
+                              CostumeNameIndex nameIndex, CostumeFacets facets, int[] catalogPositionByCode,
+                              SkuReservations reservations, int[] rentalCountsByStatus) {
+        this.version = version;
+        this.costumes = costumes;
+        this.costumesById = costumesById;
+        this.nameIndex = nameIndex;
+        this.facets = facets;
+        this.catalogPositionByCode = catalogPositionByCode;
+        this.reservations = reservations;
+        this.rentalCountsByStatus = rentalCountsByStatus;
+    }
+
+    static InventorySnapshot build(List<Costume> catalog, Collection<Rental> rentals, long version) {
+        // Booked ranges per SKU, keyed by costume code << 32 | size code
+        Map<Long, List<long[]>> rangesBySku = new HashMap<>();
+        int[] statusCounts = new int[Rental.RentalStatus.values().length];
+        for (Rental rental : rentals) {
+            statusCounts[rental.getStatus().ordinal()]++;
+            if (occupiesStock(rental.getStatus())) {
+                long sku = (long) rental.getCostumeCode() << 32 | rental.getSizeCode();
+                rangesBySku.computeIfAbsent(sku, k -> new ArrayList<>())
+                    .add(new long[] { rental.getRentalDate().toEpochDay(), rental.getReturnDate().toEpochDay() });
+            }
+        }
+
+        SkuReservations reservations = SkuReservations.EMPTY;
+        for (Map.Entry<Long, List<long[]>> entry : rangesBySku.entrySet()) {
+            long sku = entry.getKey();
+            reservations = reservations.with((int) (sku >>> 32), (int) sku, DailyReservationCounts.fromRanges(entry.getValue()));
+        }
+        InventorySnapshot empty = new InventorySnapshot(version - 1, Collections.emptyList(), Collections.emptyMap(),
+                                                        CostumeNameIndex.EMPTY, CostumeFacets.EMPTY, new int[0],
+                                                        reservations, statusCounts);
+        return empty.withCatalog(catalog);
+    }
+
+    // Getters (readers)
+    public long getVersion() { return version; }
+    public List<Costume> getCostumes() { return costumes; }
+    public Costume getCostume(String costumeId) { return costumesById.get(costumeId); }
+    public int getCatalogSize() { return costumes.size(); }
+
+    public CostumeFacets getFacets() { return facets; }
+
+    // Codes of costumes matching a word-level text query (see CostumeNameIndex.query)
+    public BitSet matchText(String text) {
+        return nameIndex.query(text);
+    }
+
+    // Costumes whose name or event display name matches the text, in catalog order.
+    // Answered from the name index, so only matching costumes are touched.
+    public List<Costume> searchCostumes(String text) {
+        return getCostumes(nameIndex.query(text));
+    }
+
+    // The costumes with the given codes, in catalog order
+    public List<Costume> getCostumes(BitSet codes) {
+        int[] positions = new int[codes.cardinality()];
+        int count = 0;
+        for (int code = codes.nextSetBit(0); code >= 0; code = codes.nextSetBit(code + 1)) {
+            if (code < catalogPositionByCode.length && catalogPositionByCode[code] >= 0) {
+                positions[count++] = catalogPositionByCode[code];
+            }
+        }
+        Arrays.sort(positions, 0, count);
+        List<Costume> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(costumes.get(positions[i]));
+        }
+        return result;
+    }
+
+    public int getStock(String costumeId, String size) {
+        Costume costume = costumesById.get(costumeId);
+        return costume == null ? 0 : costume.getStockForSize(size);
+    }
+
+    public int getReservedCount(String costumeId, String size, LocalDate date) {
+        return reservationsFor(costumeId, size).get(date);
+    }
+
+    public Map<LocalDate, Integer> getReservationCounts(String costumeId, String size) {
+        return reservationsFor(costumeId, size).asMap();
+    }
+
+    public int getAvailableStock(String costumeId, String size, LocalDate date) {
+        return Math.max(0, getStock(costumeId, size) - getReservedCount(costumeId, size, date));
+    }
+
+    public boolean isStockAvailableForPeriod(String costumeId, String size, LocalDate startDate, LocalDate endDate) {
+        int maxStock = getStock(costumeId, size);
+        if (maxStock <= 0) return false;
+        DailyReservationCounts reservations = reservationsFor(costumeId, size);
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            if (reservations.get(date) >= maxStock) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getRentalCount(Rental.RentalStatus status) {
+        return rentalCountsByStatus[status.ordinal()];
+    }
+
+    // ACTIVE and OVERDUE rentals are physically out of the shop
+    public int getCurrentlyRentedCount() {
+        return getRentalCount(Rental.RentalStatus.ACTIVE) + getRentalCount(Rental.RentalStatus.OVERDUE);
+    }
+
+    private DailyReservationCounts reservationsFor(String costumeId, String size) {
+        return reservations.get(IdDictionary.COSTUMES.find(costumeId), IdDictionary.SIZES.find(size));
+    }
+
+    // Copy-on-write updates (writers)
+    InventorySnapshot withCatalog(List<Costume> catalog) {
+        List<Costume> copies = new ArrayList<>(catalog.size());
+        Map<String, Costume> byId = new LinkedHashMap<>();
+        for (Costume costume : catalog) {
+            Costume copy = costume.copy();
+            copies.add(copy);
+            byId.put(copy.getCostumeId(), copy);
+        }
+        CostumeNameIndex index = nameIndex.withChanges(costumes, copies);
+
+        int maxCode = -1;
+        for (Costume copy : copies) {
+            maxCode = Math.max(maxCode, IdDictionary.COSTUMES.find(copy.getCostumeId()));
+        }
+        int[] positions = new int[maxCode + 1];
+        Arrays.fill(positions, -1);
+        for (int i = 0; i < copies.size(); i++) {
+            positions[IdDictionary.COSTUMES.find(copies.get(i).getCostumeId())] = i;
+        }
+        return new InventorySnapshot(version + 1, Collections.unmodifiableList(copies),
+                                     Collections.unmodifiableMap(byId), index, new CostumeFacets(copies), positions,
+                                     reservations, rentalCountsByStatus);
+    }
+
+    InventorySnapshot withReservation(String costumeId, String size, LocalDate startDate, LocalDate endDate, int delta) {
+        // Only this SKU's counts and their path in the table are copied
+        int costumeCode = IdDictionary.COSTUMES.intern(costumeId);
+        int sizeCode = IdDictionary.SIZES.intern(size);
+        DailyReservationCounts updated = reservations.get(costumeCode, sizeCode).plus(startDate, endDate, delta);
+        return new InventorySnapshot(version + 1, costumes, costumesById, nameIndex, facets, catalogPositionByCode,
+                                     reservations.with(costumeCode, sizeCode, updated), rentalCountsByStatus);
+    }
+
+    InventorySnapshot withStatusCounts(int[] deltaByStatus) {
+        int[] counts = rentalCountsByStatus.clone();
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += deltaByStatus[i];
+        }
+        return new InventorySnapshot(version + 1, costumes, costumesById, nameIndex, facets, catalogPositionByCode,
+                                     reservations, counts);
+    }
+
+    static boolean occupiesStock(Rental.RentalStatus status) {
+        return status != Rental.RentalStatus.CANCELLED && status != Rental.RentalStatus.RETURNED;
+    }
+
+    static String skuKey(String costumeId, String size) {
+        return costumeId + "|" + size;
+    }
+}
@@ -0,0 +1,113 @@
+package gui;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+// Publishes the current InventorySnapshot.
+// Readers (search, calendar, dashboards) call current() - a single volatile read - and
+// work on that snapshot without locks. Writers (RentalService, CostumeDataManager)
+// derive a new snapshot and swap it in with compare-and-set.
+public class InventoryState {
+    private static final InventoryState instance = new InventoryState();
+
+    private final AtomicReference<InventorySnapshot> current = new AtomicReference<>();
+    // Told about every new catalog just before it is published (RentalService's hot-SKU counters)
+    private volatile Consumer<List<Costume>> catalogListener;
+
+    private InventoryState() {
+    }
+
+    public static InventoryState getInstance() {
+        return instance;
+    }
+
+    public InventorySnapshot current() {
+        InventorySnapshot snapshot = current.get();
+        if (snapshot == null) {
+            new RentalService(); // first use: loading the rentals initializes the state
+            snapshot = current.get();
+        }
+        return snapshot;
+    }
+
+    // Called once by RentalService after the rentals are loaded
+    void initialize(List<Costume> catalog, Collection<Rental> rentals) {
+        current.compareAndSet(null, InventorySnapshot.build(catalog, rentals, 1));
+    }
+
+    // Replace the whole state after a full reload of the data files
+    void reload(List<Costume> catalog, Collection<Rental> rentals) {
+        update(snapshot -> InventorySnapshot.build(catalog, rentals, snapshot.getVersion() + 1));
+    }
+
+    void setCatalogListener(Consumer<List<Costume>> listener) {
+        this.catalogListener = listener;
+    }
+
+    public void publishCatalog(List<Costume> catalog) {
+        Consumer<List<Costume>> listener = catalogListener;
+        if (listener != null) {
+            listener.accept(catalog);
+        }
+        update(snapshot -> snapshot.withCatalog(catalog));
+    }
+
+    // A new rental: its days become booked and its status is counted, in one swap
+    void publishBooking(Rental rental) {
+        publishRentalCount(rental, 1);
+    }
+
+    // Undo publishBooking for a rental that could not be saved
+    void retractBooking(Rental rental) {
+        publishRentalCount(rental, -1);
+    }
+
+    private void publishRentalCount(Rental rental, int sign) {
+        int[] delta = new int[Rental.RentalStatus.values().length];
+        delta[rental.getStatus().ordinal()] += sign;
+        boolean booked = InventorySnapshot.occupiesStock(rental.getStatus());
+        update(snapshot -> {
+            InventorySnapshot next = snapshot.withStatusCounts(delta);
+            if (booked) {
+                next = next.withReservation(rental.getCostumeId(), rental.getSize(),
+                                            rental.getRentalDate(), rental.getReturnDate(), sign);
+            }
+            return next;
+        });
+    }
+
+    // A rental moved from oldStatus to its current status (return, cancel, day roll-over,
+    // or back after a return or cancellation could not be saved)
+    void publishStatusChange(Rental rental, Rental.RentalStatus oldStatus) {
+        int[] delta = new int[Rental.RentalStatus.values().length];
+        delta[oldStatus.ordinal()]--;
+        delta[rental.getStatus().ordinal()]++;
+        int booked = (InventorySnapshot.occupiesStock(rental.getStatus()) ? 1 : 0)
+                     - (InventorySnapshot.occupiesStock(oldStatus) ? 1 : 0);
+        update(snapshot -> {
+            InventorySnapshot next = snapshot.withStatusCounts(delta);
+            if (booked != 0) {
+                next = next.withReservation(rental.getCostumeId(), rental.getSize(),
+                                            rental.getRentalDate(), rental.getReturnDate(), booked);
+            }
+            return next;
+        });
+    }
+
+    // Bulk status moves that do not change which days are booked (RESERVED -> ACTIVE -> OVERDUE)
+    void publishStatusCounts(int[] deltaByStatus) {
+        update(snapshot -> snapshot.withStatusCounts(deltaByStatus));
+    }
+
+    private void update(UnaryOperator<InventorySnapshot> change) {
+        while (true) {
+            InventorySnapshot snapshot = current();
+            if (current.compareAndSet(snapshot, change.apply(snapshot))) {
+                return;
+            }
+        }
+    }
+}
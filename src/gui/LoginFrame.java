@@ -182,55 +182,57 @@ public class LoginFrame extends JFrame {
     }
 
     private void handleLogin() {
-        String memberId = memberIdField.getText().trim();
-        String password = new String(passwordField.getPassword());
+        ReadScope.run("LoginFrame.handleLogin", () -> {
+            String memberId = memberIdField.getText().trim();
+            String password = new String(passwordField.getPassword());
 
-        statusLabel.setText(" ");
-
-        // Validation
-        if (memberId.isEmpty()) {
-            showStatus("Please enter your Member ID.", Color.RED);
-            memberIdField.requestFocus();
-            return;
-        }
+            statusLabel.setText(" ");
 
-        if (password.isEmpty()) {
-            showStatus("Please enter your password.", Color.RED);
-            passwordField.requestFocus();
-            return;
-        }
-
-        // ADDED: Admin login check
-        if ("admin".equals(memberId) && "password".equals(password)) {
-            showStatus("Admin login successful!", Color.GREEN);
-            SwingUtilities.invokeLater(() -> {
-                AdminDashboardFrame adminFrame = new AdminDashboardFrame();
-                adminFrame.setVisible(true);
-                this.dispose();
-            });
-            return;
-        }
+            // Validation
+            if (memberId.isEmpty()) {
+                showStatus("Please enter your Member ID.", Color.RED);
+                memberIdField.requestFocus();
+                return;
+            }
 
-        // Authentication using FileIO
-        try {
-            FileIO fileIO = FileIO.getInstance();
-            if (fileIO.isValidLogin(memberId, password)) {
-                showStatus("Login successful!", Color.GREEN);
+            if (password.isEmpty()) {
+                showStatus("Please enter your password.", Color.RED);
+                passwordField.requestFocus();
+                return;
+            }
 
+            // ADDED: Admin login check
+            if ("admin".equals(memberId) && "password".equals(password)) {
+                showStatus("Admin login successful!", Color.GREEN);
                 SwingUtilities.invokeLater(() -> {
-                    MainFrame mainFrame = new MainFrame(memberId);
-                    mainFrame.setVisible(true);
+                    AdminDashboardFrame adminFrame = new AdminDashboardFrame();
+                    adminFrame.setVisible(true);
                     this.dispose();
                 });
-            } else {
-                showStatus("Invalid Member ID or password.", Color.RED);
-                passwordField.setText("");
-                passwordField.requestFocus();
+                return;
             }
-        } catch (Exception e) {
-            showStatus("Authentication system error. Please try again.", Color.RED);
-            System.err.println("Login error: " + e.getMessage());
-        }
+
+            // Authentication using FileIO
+            try {
+                FileIO fileIO = FileIO.getInstance();
+                if (fileIO.isValidLogin(memberId, password)) {
+                    showStatus("Login successful!", Color.GREEN);
+
+                    SwingUtilities.invokeLater(() -> {
+                        MainFrame mainFrame = new MainFrame(memberId);
+                        mainFrame.setVisible(true);
+                        this.dispose();
+                    });
+                } else {
+                    showStatus("Invalid Member ID or password.", Color.RED);
+                    passwordField.setText("");
+                    passwordField.requestFocus();
+                }
+            } catch (Exception e) {
+                showStatus("Authentication system error. Please try again.", Color.RED);
+                System.err.println("Login error: " + e.getMessage());
+            }
+        });
     }
 
     private void openRegistrationFrame() {
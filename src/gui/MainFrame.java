@@ -18,7 +18,6 @@ public class MainFrame extends JFrame {
     private JButton accountButton;
     private JButton logoutButton;
     private Timer clockTimer;
-    private FileIO fileIO;
    
     private JLayeredPane myRentalsContainer; 
     private JLabel overdueBadge; 
@@ -26,7 +25,6 @@ public class MainFrame extends JFrame {
     
     public MainFrame(String memberId) {
         this.currentMemberId = memberId;
-        this.fileIO = FileIO.getInstance(); 
         initializeComponents();
         setupLayout();
         setupEventListeners();
@@ -344,25 +342,30 @@ public class MainFrame extends JFrame {
     }
     
     private void updateStatsLabel() {
-        try {
-            int activeRentals = fileIO.getActiveRentalsCount();
-            int availableCostumes = fileIO.getAvailableCostumesCount();
+        ReadScope.run("MainFrame.updateStatsLabel", () -> {
+            try {
+                InventorySnapshot snapshot = InventoryState.getInstance().current();
+                int activeRentals = snapshot.getCurrentlyRentedCount();
+                int availableCostumes = snapshot.getCatalogSize();
             
-            String statsText = String.format("System Status: Online | Active Rentals: %d | Available Costumes: %d", 
-                                            activeRentals, availableCostumes);
-            statsLabel.setText(statsText);
-        } catch (Exception e) {
-            statsLabel.setText("System Status: Online | Active Rentals: -- | Available Costumes: --");
-        }
+                String statsText = String.format("System Status: Online | Active Rentals: %d | Available Costumes: %d", 
+                                                activeRentals, availableCostumes);
+                statsLabel.setText(statsText);
+            } catch (Exception e) {
+                statsLabel.setText("System Status: Online | Active Rentals: -- | Available Costumes: --");
+            }
+        });
     }
     
     public void checkOverdueRentals() {
-        try {
-            int overdueRentals = getOverdueRentalsForCurrentUser();
-            updateOverdueBadge(overdueRentals);
-        } catch (Exception e) {
-            System.err.println("Error checking overdue rentals: " + e.getMessage());
-        }
+        ReadScope.run("MainFrame.checkOverdueRentals", () -> {
+            try {
+                int overdueRentals = getOverdueRentalsForCurrentUser();
+                updateOverdueBadge(overdueRentals);
+            } catch (Exception e) {
+                System.err.println("Error checking overdue rentals: " + e.getMessage());
+            }
+        });
     }
   
     private int getOverdueRentalsForCurrentUser() {
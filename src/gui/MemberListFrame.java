@@ -50,18 +50,20 @@ public class MemberListFrame extends JFrame {
     }
 
     private void loadMembers() {
-        tableModel.setRowCount(0); // Clear table
-        List<FileIO.MemberData> members = fileIO.getAllMembers();
-        for (FileIO.MemberData member : members) {
-            Object[] row = {
-                member.getMemberId(),
-                member.getName(),
-                member.getEmail(),
-                member.getPhone(),
-                member.getAddress()
-            };
-            tableModel.addRow(row);
-        }
+        ReadScope.run("MemberListFrame.loadMembers", () -> {
+            tableModel.setRowCount(0); // Clear table
+            List<FileIO.MemberData> members = fileIO.getAllMembers();
+            for (FileIO.MemberData member : members) {
+                Object[] row = {
+                    member.getMemberId(),
+                    member.getName(),
+                    member.getEmail(),
+                    member.getPhone(),
+                    member.getAddress()
+                };
+                tableModel.addRow(row);
+            }
+        });
     }
 
     private void editSelectedMember() {
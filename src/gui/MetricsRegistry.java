@@ -0,0 +1,175 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Process-wide counters, gauges and latency histograms for the data and service layer.
+// Classes look their metrics up once into static fields and then only touch LongAdders
+// and atomic arrays, so recording is cheap enough for every call.
+// Naming: "<Class>.<operation>" for operation timings, "file.<file name>.<what>" for I/O.
+//
+// With -Drental.metrics.file=<path> the registry is written to that file every
+// rental.metrics.intervalSeconds (default 60) and on shutdown.
+public class MetricsRegistry {
+    private static MetricsRegistry instance;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<Path, FileCounters> fileCounters = new ConcurrentHashMap<>();
+
+    public static final class Counter {
+        private final LongAdder value = new LongAdder();
+
+        public void increment() { value.increment(); }
+        public void add(long amount) { value.add(amount); }
+        public long get() { return value.sum(); }
+    }
+
+    private MetricsRegistry() {
+    }
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+            String dumpFile = System.getProperty("rental.metrics.file");
+            if (dumpFile != null && !dumpFile.isEmpty()) {
+                instance.startDumping(Paths.get(dumpFile), Long.getLong("rental.metrics.intervalSeconds", 60));
+            }
+        }
+        return instance;
+    }
+
+    // Shorthand for the static timing fields of the instrumented classes
+    public static LatencyHistogram timer(String name) {
+        return getInstance().histogram(name);
+    }
+
+    public Counter counter(String name) {
+        return counters.computeIfAbsent(name, k -> new Counter());
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    // The supplier is called whenever the gauge is read; registering a name again replaces it
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    public void recordFileRead(Path file, long bytes) {
+        FileCounters counters = fileCounters(file);
+        counters.reads.increment();
+        counters.bytesRead.add(bytes);
+        ReadScope.recordRead(file, bytes);
+    }
+
+    public void recordFileWrite(Path file, long bytes) {
+        FileCounters counters = fileCounters(file);
+        counters.writes.increment();
+        counters.bytesWritten.add(bytes);
+    }
+
+    // The "file.<file name>.*" counters are looked up once per path, not built on every I/O
+    private FileCounters fileCounters(Path file) {
+        FileCounters counters = fileCounters.get(file);
+        if (counters == null) {
+            counters = fileCounters.computeIfAbsent(file, FileCounters::new);
+        }
+        return counters;
+    }
+
+    private final class FileCounters {
+        final Counter reads, bytesRead, writes, bytesWritten;
+
+        FileCounters(Path file) {
+            String prefix = "file." + file.getFileName() + ".";
+            reads = counter(prefix + "reads");
+            bytesRead = counter(prefix + "bytesRead");
+            writes = counter(prefix + "writes");
+            bytesWritten = counter(prefix + "bytesWritten");
+        }
+    }
+
+    // Readers (sorted by name)
+    public Map<String, Long> getCounterValues() {
+        Map<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.get()));
+        return values;
+    }
+
+    public Map<String, Long> getGaugeValues() {
+        Map<String, Long> values = new TreeMap<>();
+        gauges.forEach((name, supplier) -> {
+            try {
+                values.put(name, supplier.getAsLong());
+            } catch (RuntimeException e) {
+                values.put(name, -1L);
+            }
+        });
+        return values;
+    }
+
+    public Map<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append("# Metrics at ").append(LocalDateTime.now()).append('\n');
+        out.append("\n# Operations: count, mean / p50 / p99 / p999 / max in ms\n");
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) continue;
+            out.append(String.format("%-45s %10d %10.3f %10.3f %10.3f %10.3f %10.3f%n", entry.getKey(),
+                histogram.getCount(), histogram.getMeanMillis(), histogram.getPercentileMillis(0.5),
+                histogram.getPercentileMillis(0.99), histogram.getPercentileMillis(0.999), histogram.getMaxMillis()));
+        }
+        out.append("\n# Counters\n");
+        for (Map.Entry<String, Long> entry : getCounterValues().entrySet()) {
+            out.append(String.format("%-45s %12d%n", entry.getKey(), entry.getValue()));
+        }
+        out.append("\n# Gauges\n");
+        for (Map.Entry<String, Long> entry : getGaugeValues().entrySet()) {
+            out.append(String.format("%-45s %12d%n", entry.getKey(), entry.getValue()));
+        }
+        return out.toString();
+    }
+
+    public boolean dump(Path file) {
+        try {
+            AtomicFileWriter.write(file, format().getBytes(StandardCharsets.UTF_8));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing metrics to " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void startDumping(Path file, long intervalSeconds) {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(() -> dump(file), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> dump(file), "metrics-dump-shutdown"));
+        } catch (IllegalStateException e) {
+            // Created during shutdown; the periodic dumps are all we get
+        }
+        System.out.println("Writing metrics to " + file.toAbsolutePath() + " every " + intervalSeconds + " s");
+    }
+}
@@ -1,7 +1,6 @@
 package gui;
 
 import java.awt.*;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -45,26 +44,28 @@ public class MyRentalsFrame extends JFrame {
     }
 
     private void loadData() {
-        rentalService.updateAllRentalStatuses();
-
-        allRentals = rentalService.getRentalsByMemberId(currentMemberId);
-        activeRentals = rentalService.getActiveRentalsByMemberId(currentMemberId);
-        rentalHistory = new ArrayList<>();
-        allCostumes = costumeManager.loadCostumes();
-
-        for (Rental rental : activeRentals) {
-            if (rental.getStatus() == Rental.RentalStatus.OVERDUE) {
-                double calculatedLateFee = rental.calculateLateFee();
-                rental.setLateFee(calculatedLateFee);
+        ReadScope.run("MyRentalsFrame.loadData", () -> {
+            rentalService.updateAllRentalStatuses();
+
+            allRentals = rentalService.getRentalsByMemberId(currentMemberId);
+            activeRentals = rentalService.getActiveRentalsByMemberId(currentMemberId);
+            rentalHistory = new ArrayList<>();
+            allCostumes = costumeManager.loadCostumes();
+
+            for (Rental rental : activeRentals) {
+                if (rental.getStatus() == Rental.RentalStatus.OVERDUE) {
+                    double calculatedLateFee = rental.calculateLateFee();
+                    rental.setLateFee(calculatedLateFee);
+                }
             }
-        }
 
-        for (Rental rental : allRentals) {
-            if (rental.getStatus() == Rental.RentalStatus.RETURNED ||
-                rental.getStatus() == Rental.RentalStatus.CANCELLED) {
-                rentalHistory.add(rental);
+            for (Rental rental : allRentals) {
+                if (rental.getStatus() == Rental.RentalStatus.RETURNED ||
+                    rental.getStatus() == Rental.RentalStatus.CANCELLED) {
+                    rentalHistory.add(rental);
+                }
             }
-        }
+        });
     }
 
     private void initializeComponents() {
@@ -166,7 +167,7 @@ public class MyRentalsFrame extends JFrame {
         titleLabel.setFont(new Font("Arial", Font.BOLD, 24));
         titleLabel.setForeground(new Color(70, 130, 180));
 
-        JLabel dateLabel = new JLabel("As of " + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy/MM/dd")));
+        JLabel dateLabel = new JLabel("As of " + RentalClock.today().format(DateTimeFormatter.ofPattern("yyyy/MM/dd")));
         dateLabel.setFont(new Font("Arial", Font.BOLD, 12));
         dateLabel.setForeground(Color.GRAY);
 
@@ -282,7 +283,7 @@ public class MyRentalsFrame extends JFrame {
             String event = (costume != null) ? costume.getEventDisplayName() : "Unknown";
             String size = (costume != null) ? costume.getSize() : "Unknown";
 
-            long daysLeft = rental.getReturnDate().toEpochDay() - LocalDate.now().toEpochDay();
+            long daysLeft = rental.getReturnDate().toEpochDay() - RentalClock.today().toEpochDay();
             String daysLeftStr = daysLeft >= 0 ? daysLeft + " days" : Math.abs(daysLeft) + " days late";
 
             Object[] row = {
@@ -392,9 +393,11 @@ public class MyRentalsFrame extends JFrame {
     }
 
     private void refreshData() {
-        loadData();
-        loadRentalData();
-        JOptionPane.showMessageDialog(this, "Data refreshed successfully!", "Refresh", JOptionPane.INFORMATION_MESSAGE);
+        ReadScope.run("MyRentalsFrame.refreshData", () -> {
+            loadData();
+            loadRentalData();
+            JOptionPane.showMessageDialog(this, "Data refreshed successfully!", "Refresh", JOptionPane.INFORMATION_MESSAGE);
+        });
     }
 
     private String getActionButtonText(Rental.RentalStatus status) {
@@ -463,7 +466,7 @@ public class MyRentalsFrame extends JFrame {
                                 "Are you sure you want to return this costume?", "Confirm Return",
                                 JOptionPane.YES_NO_OPTION);
                         if (confirm == JOptionPane.YES_OPTION) {
-                            rentalService.returnRental(rental.getRentalId(), LocalDate.now());
+                            rentalService.returnRental(rental.getRentalId(), RentalClock.today());
                             refreshData();
 
                             updateMainFrameOverdueStatus();
@@ -512,7 +515,7 @@ public class MyRentalsFrame extends JFrame {
                     Rental rental = activeRentals.get(row);
                     if (rental.getStatus() == Rental.RentalStatus.OVERDUE) {
                         setBackground(new Color(255, 240, 240));
-                    } else if (rental.getReturnDate().toEpochDay() - LocalDate.now().toEpochDay() <= 1) {
+                    } else if (rental.getReturnDate().toEpochDay() - RentalClock.today().toEpochDay() <= 1) {
                         setBackground(new Color(255, 255, 230));
                     }
                 }
@@ -544,7 +547,7 @@ public class MyRentalsFrame extends JFrame {
                     Rental rental = activeRentals.get(row);
                     if (rental.getStatus() == Rental.RentalStatus.OVERDUE) {
                         setBackground(new Color(255, 240, 240));
-                    } else if (rental.getReturnDate().toEpochDay() - LocalDate.now().toEpochDay() <= 1) {
+                    } else if (rental.getReturnDate().toEpochDay() - RentalClock.today().toEpochDay() <= 1) {
                         setBackground(new Color(255, 255, 230));
                     }
                 }
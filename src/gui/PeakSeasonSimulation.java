@@ -0,0 +1,343 @@
+package gui;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Replays months of rental business day by day on a RentalClock.Manual, as fast as the
+// service layer allows, to see how it copes with a Halloween or graduation rush.
+// Each simulated day:
+// - rolls statuses over (updateAllRentalStatuses: pickups RESERVED -> ACTIVE and
+//   ACTIVE -> OVERDUE),
+// - returns rentals (most on the due date, some late, paying the late fee) and cancels a
+//   few reservations,
+// - books new rentals: demand follows the seasons of SyntheticDataGenerator, every booking
+//   is preceded by an availability check and fully booked SKUs are turned away,
+// - accrues late fees over the overdue rentals and sweeps the availability of every SKU
+//   for next week, as the search screen does.
+// Completed rentals are archived at each month end. The report shows per month what
+// happened and per operation how long it took (LatencyHistogram). The same data, arguments
+// and seed give the same run.
+//
+// It books into the data files of the working directory, so run it on a copy:
+//   java gui.SyntheticDataGenerator /tmp/sim/gui 300 2000 0
+//   cd /tmp/sim && java -cp <classes> gui.PeakSeasonSimulation 2026-09-01 120 60
+// Usage: java gui.PeakSeasonSimulation [start date] [days] [bookings per day] [seed]
+// (defaults: September 1 of this year, 120 days, 40 bookings per day, seed 42)
+public class PeakSeasonSimulation {
+    private static final int MAX_LEAD_DAYS = 21;
+    private static final double ON_TIME_RETURN_RATE = 0.9;
+    private static final double LATE_RETURN_RATE_PER_DAY = 0.4;
+    private static final double EARLY_RETURN_RATE_PER_DAY = 0.02;
+    private static final double CANCEL_RATE_PER_DAY = 0.01;
+    // How much an event's demand rises at its peak, relative to off-season
+    private static final double PEAK_BOOST = 12;
+    private static final int SWEEP_LEAD_DAYS = 7;
+
+    enum Operation { ROLLOVER, AVAILABILITY, BOOKING, RETURN, CANCEL, LATE_FEES, AVAILABILITY_SWEEP, ARCHIVE }
+
+    private final RentalClock.Manual clock;
+    private final int days;
+    private final int bookingsPerDay;
+    private final SplittableRandom random;
+
+    private final RentalService rentalService;
+    private final InventoryState inventory = InventoryState.getInstance();
+    private final Map<CostumeEvent, List<Costume>> costumesByEvent = new EnumMap<>(CostumeEvent.class);
+    private final List<String> memberIds = new ArrayList<>();
+    private final Map<Operation, LatencyHistogram> timings = new EnumMap<>(Operation.class);
+
+    // Rentals booked by this run that are not returned or cancelled yet
+    private final Map<String, Rental> outstanding = new LinkedHashMap<>();
+
+    // Counts for the current month
+    private int bookings, rejected, pickups, returns, lateReturns, cancellations, newOverdues;
+    private double lateFeesCharged;
+    private long accruedLateFeeCents;
+
+    public PeakSeasonSimulation(RentalClock.Manual clock, int days, int bookingsPerDay, long seed) {
+        this.clock = clock;
+        this.days = days;
+        this.bookingsPerDay = bookingsPerDay;
+        this.random = new SplittableRandom(seed);
+        this.rentalService = new RentalService();
+
+        for (Costume costume : inventory.current().getCostumes()) {
+            if (costume.getTotalStock() > 0) {
+                costumesByEvent.computeIfAbsent(costume.getEvent(), e -> new ArrayList<>()).add(costume);
+            }
+        }
+        for (FileIO.MemberData member : FileIO.getInstance().getAllMembers()) {
+            memberIds.add(member.getMemberId());
+        }
+        if (memberIds.isEmpty()) {
+            memberIds.add("simulation");
+        }
+        for (Operation operation : Operation.values()) {
+            timings.put(operation, new LatencyHistogram());
+        }
+    }
+
+    public static void main(String[] args) {
+        if (Files.exists(Paths.get("gui", "FileIO.java"))) {
+            System.err.println("Refusing to book into the data files in the source directory; run on a copy");
+            System.exit(1);
+        }
+        LocalDate start = args.length > 0 ? LocalDate.parse(args[0]) : RentalClock.today().withMonth(9).withDayOfMonth(1);
+        int days = args.length > 1 ? Integer.parseInt(args[1]) : 120;
+        int bookingsPerDay = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        // Thousands of bookings: keep the service's messages in the log file only
+        if (System.getProperty("rental.log.console") == null) {
+            System.setProperty("rental.log.console", "false");
+        }
+
+        // Before the first RentalService, so the status scheduler starts on the simulated day
+        RentalClock.Manual clock = new RentalClock.Manual(start);
+        RentalClock.set(clock);
+
+        PeakSeasonSimulation simulation = new PeakSeasonSimulation(clock, days, bookingsPerDay, seed);
+        if (simulation.costumesByEvent.isEmpty()) {
+            System.err.println("No costumes with stock in ./gui/costumes.csv");
+            System.exit(1);
+        }
+        simulation.run(start);
+        System.exit(0);
+    }
+
+    public void run(LocalDate start) {
+        System.out.printf("Simulating %d days from %s, %d bookings per day on average, %d costumes%n",
+                          days, start, bookingsPerDay, inventory.current().getCostumes().size());
+        System.out.printf("%-8s %8s %8s %8s %8s %6s %8s %8s %10s %10s%n", "month", "booked", "rejected",
+                          "pickups", "returned", "late", "cancel", "overdue", "late fees", "accrued");
+        // overdue: rentals that went overdue in the month; accrued: late fees owed at its end
+        long wallStart = System.nanoTime();
+        YearMonth month = YearMonth.from(start);
+        for (int day = 0; day < days; day++) {
+            LocalDate today = start.plusDays(day);
+            if (!YearMonth.from(today).equals(month)) {
+                endMonth(month);
+                month = YearMonth.from(today);
+            }
+            clock.setDate(today);
+            simulateDay(today);
+        }
+        endMonth(month);
+        double seconds = (System.nanoTime() - wallStart) / 1e9;
+
+        System.out.printf("%n%d days in %.1f s (%.1f days/s); %d rentals still out%n",
+                          days, seconds, days / seconds, outstanding.size());
+        System.out.printf("%n%-20s %10s %10s %10s %10s %10s%n", "operation (ms)", "count", "mean", "p50", "p99", "max");
+        for (Map.Entry<Operation, LatencyHistogram> entry : timings.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            if (histogram.getCount() == 0) continue;
+            System.out.printf("%-20s %10d %10.3f %10.3f %10.3f %10.3f%n", entry.getKey().name().toLowerCase(),
+                              histogram.getCount(), histogram.getMeanMillis(), histogram.getPercentileMillis(0.5),
+                              histogram.getPercentileMillis(0.99), histogram.getMaxMillis());
+        }
+        AsyncLogger.flush();
+    }
+
+    private void simulateDay(LocalDate today) {
+        rollOver();
+        returnAndCancel(today);
+        book(today);
+        accrueLateFees();
+        sweepAvailability(today.plusDays(SWEEP_LEAD_DAYS));
+    }
+
+    private void rollOver() {
+        Map<Rental, Rental.RentalStatus> before = new IdentityHashMap<>();
+        for (Rental rental : outstanding.values()) {
+            before.put(rental, rental.getStatus());
+        }
+        long start = System.nanoTime();
+        rentalService.updateAllRentalStatuses();
+        timings.get(Operation.ROLLOVER).record(start);
+
+        for (Map.Entry<Rental, Rental.RentalStatus> entry : before.entrySet()) {
+            Rental.RentalStatus now = entry.getKey().getStatus();
+            if (entry.getValue() == Rental.RentalStatus.RESERVED && now != Rental.RentalStatus.RESERVED) pickups++;
+            if (entry.getValue() != Rental.RentalStatus.OVERDUE && now == Rental.RentalStatus.OVERDUE) newOverdues++;
+        }
+    }
+
+    private void returnAndCancel(LocalDate today) {
+        List<Rental> toReturn = new ArrayList<>();
+        List<Rental> toCancel = new ArrayList<>();
+        for (Rental rental : outstanding.values()) {
+            switch (rental.getStatus()) {
+                case RESERVED:
+                    if (random.nextDouble() < CANCEL_RATE_PER_DAY) toCancel.add(rental);
+                    break;
+                case ACTIVE:
+                    double rate = today.equals(rental.getReturnDate()) ? ON_TIME_RETURN_RATE : EARLY_RETURN_RATE_PER_DAY;
+                    if (random.nextDouble() < rate) toReturn.add(rental);
+                    break;
+                case OVERDUE:
+                    if (random.nextDouble() < LATE_RETURN_RATE_PER_DAY) toReturn.add(rental);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        for (Rental rental : toReturn) {
+            boolean late = rental.getStatus() == Rental.RentalStatus.OVERDUE;
+            long start = System.nanoTime();
+            boolean returned = rentalService.returnRental(rental.getRentalId(), today);
+            timings.get(Operation.RETURN).record(start);
+            if (returned) {
+                outstanding.remove(rental.getRentalId());
+                returns++;
+                if (late) {
+                    lateReturns++;
+                    lateFeesCharged += rental.getLateFee();
+                }
+            }
+        }
+        for (Rental rental : toCancel) {
+            long start = System.nanoTime();
+            boolean cancelled = rentalService.cancelRental(rental.getRentalId());
+            timings.get(Operation.CANCEL).record(start);
+            if (cancelled) {
+                outstanding.remove(rental.getRentalId());
+                cancellations++;
+            }
+        }
+    }
+
+    private void book(LocalDate today) {
+        // Demand follows the seasons around the days being booked
+        double demand = 0;
+        for (int lead = 1; lead <= MAX_LEAD_DAYS; lead++) {
+            demand += totalWeight(today.plusDays(lead));
+        }
+        demand /= MAX_LEAD_DAYS * costumesByEvent.size();
+        int count = (int) Math.round(bookingsPerDay * demand / (1 + PEAK_BOOST / 4) * (0.8 + 0.4 * random.nextDouble()));
+
+        for (int i = 0; i < count; i++) {
+            LocalDate rentalDate = today.plusDays(1 + random.nextInt(MAX_LEAD_DAYS));
+            Costume costume = pickCostume(rentalDate);
+            String size = pickSize(costume);
+            LocalDate returnDate = rentalDate.plusDays(random.nextInt(4));
+            String memberId = memberIds.get(random.nextInt(memberIds.size()));
+
+            long start = System.nanoTime();
+            boolean available = rentalService.isStockAvailableForPeriod(costume.getCostumeId(), size, rentalDate, returnDate);
+            timings.get(Operation.AVAILABILITY).record(start);
+            if (!available) {
+                rejected++;
+                continue;
+            }
+
+            long days = RentalService.calculateRentalDays(rentalDate, returnDate);
+            start = System.nanoTime();
+            Rental rental = rentalService.reserveRental(memberId, costume.getCostumeId(), size, rentalDate, returnDate,
+                                                        RentalService.calculateRentalCost(costume.getPrice(), days));
+            timings.get(Operation.BOOKING).record(start);
+            if (rental == null) {
+                rejected++;
+            } else {
+                outstanding.put(rental.getRentalId(), rental);
+                bookings++;
+            }
+        }
+    }
+
+    private void accrueLateFees() {
+        long start = System.nanoTime();
+        double accrued = 0;
+        for (Rental rental : outstanding.values()) {
+            if (rental.isOverdue()) {
+                accrued += rental.calculateLateFee();
+            }
+        }
+        timings.get(Operation.LATE_FEES).record(start);
+        accruedLateFeeCents = Math.round(accrued * 100);
+    }
+
+    private void sweepAvailability(LocalDate date) {
+        long start = System.nanoTime();
+        InventorySnapshot snapshot = inventory.current();
+        long free = 0;
+        for (Costume costume : snapshot.getCostumes()) {
+            for (String size : costume.getSizeStock().keySet()) {
+                free += snapshot.getAvailableStock(costume.getCostumeId(), size, date);
+            }
+        }
+        timings.get(Operation.AVAILABILITY_SWEEP).record(start);
+        if (free < 0) {
+            System.err.println("Negative availability on " + date);
+        }
+    }
+
+    private void endMonth(YearMonth month) {
+        long start = System.nanoTime();
+        rentalService.archiveCompletedRentals();
+        timings.get(Operation.ARCHIVE).record(start);
+
+        System.out.printf("%-8s %8d %8d %8d %8d %6d %8d %8d %10.2f %10.2f%n", month, bookings, rejected, pickups,
+                          returns, lateReturns, cancellations, newOverdues, lateFeesCharged, accruedLateFeeCents / 100.0);
+        bookings = rejected = pickups = returns = lateReturns = cancellations = newOverdues = 0;
+        lateFeesCharged = 0;
+    }
+
+    // Off-season weight 1 for every event, rising by up to PEAK_BOOST around its peak
+    private double eventWeight(CostumeEvent event, LocalDate date) {
+        MonthDay peak = SyntheticDataGenerator.PEAK_DATES.get(event);
+        if (peak == null) return 1;
+        double spread = SyntheticDataGenerator.PEAK_SPREAD_DAYS.get(event);
+        long distance = Long.MAX_VALUE;
+        for (int year = date.getYear() - 1; year <= date.getYear() + 1; year++) {
+            // Costumes are picked up a few days before the event
+            long day = peak.atYear(year).toEpochDay() - 2;
+            distance = Math.min(distance, Math.abs(day - date.toEpochDay()));
+        }
+        return 1 + PEAK_BOOST * Math.exp(-(distance * distance) / (2 * spread * spread));
+    }
+
+    private double totalWeight(LocalDate date) {
+        double total = 0;
+        for (CostumeEvent event : costumesByEvent.keySet()) {
+            total += eventWeight(event, date);
+        }
+        return total;
+    }
+
+    private Costume pickCostume(LocalDate rentalDate) {
+        double pick = random.nextDouble() * totalWeight(rentalDate);
+        List<Costume> costumes = null;
+        for (Map.Entry<CostumeEvent, List<Costume>> entry : costumesByEvent.entrySet()) {
+            costumes = entry.getValue();
+            pick -= eventWeight(entry.getKey(), rentalDate);
+            if (pick < 0) break;
+        }
+        // A few costumes of each event get most of the rentals
+        return costumes.get((int) (Math.pow(random.nextDouble(), 2.5) * costumes.size()));
+    }
+
+    // Sizes in proportion to their stock
+    private String pickSize(Costume costume) {
+        int pick = random.nextInt(costume.getTotalStock());
+        List<String> sizes = new ArrayList<>(costume.getSizeStock().keySet());
+        Collections.sort(sizes);
+        for (Iterator<String> it = sizes.iterator(); it.hasNext(); ) {
+            String size = it.next();
+            pick -= costume.getSizeStock().get(size);
+            if (pick < 0 || !it.hasNext()) return size;
+        }
+        return sizes.get(0);
+    }
+}
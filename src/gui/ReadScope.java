@@ -0,0 +1,148 @@
+package gui;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Diagnostic mode that catches N+1 data-file reads. UI actions and API calls run inside a
+// scope; every data file read on that thread (see MetricsRegistry.recordFileRead) is charged
+// to the outermost open scope, and when it closes over budget a warning lists the reads per
+// file and where the budget was crossed.
+//
+//     ReadScope.run("CostumeSearchFrame.performSearch", () -> { ... });
+//
+// Off unless -Drental.readScopes=true. Budget per scope: rental.readScopes.maxReads
+// (default 4) and rental.readScopes.maxBytes (default 1 MB). With rental.readScopes.strict=true
+// an exceeded budget throws IllegalStateException from run()/call(), after the action and its
+// own error handling, so a test run fails on the regression instead of logging it.
+public final class ReadScope {
+    private static final boolean ENABLED = Boolean.getBoolean("rental.readScopes");
+    private static final int MAX_READS = Integer.getInteger("rental.readScopes.maxReads", 4);
+    private static final long MAX_BYTES = Long.getLong("rental.readScopes.maxBytes", 1024 * 1024);
+    private static final boolean STRICT = Boolean.getBoolean("rental.readScopes.strict");
+    private static final int STACK_LINES = 8;
+
+    private static final ReadScope DISABLED = new ReadScope(null, null);
+    private static final ThreadLocal<ReadScope> current = new ThreadLocal<>();
+
+    private final String name;
+    private final ReadScope parent;
+
+    // Only used on the outermost scope
+    private int reads;
+    private long bytes;
+    private final Map<String, long[]> readsByFile = new TreeMap<>(); // file -> {reads, bytes}
+    private StackTraceElement[] overBudgetAt;
+
+    private ReadScope(String name, ReadScope parent) {
+        this.name = name;
+        this.parent = parent;
+    }
+
+    // Like Callable, with the action's own checked exception
+    public interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    public static void run(String name, Runnable action) {
+        ReadScope scope = open(name);
+        boolean completed = false;
+        try {
+            action.run();
+            completed = true;
+        } finally {
+            scope.close(completed);
+        }
+    }
+
+    public static <T, E extends Exception> T call(String name, Action<T, E> action) throws E {
+        ReadScope scope = open(name);
+        boolean completed = false;
+        try {
+            T result = action.run();
+            completed = true;
+            return result;
+        } finally {
+            scope.close(completed);
+        }
+    }
+
+    private static ReadScope open(String name) {
+        if (!ENABLED) return DISABLED;
+        ReadScope scope = new ReadScope(name, current.get());
+        current.set(scope);
+        return scope;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static void recordRead(Path file, long byteCount) {
+        if (!ENABLED) return;
+        ReadScope scope = current.get();
+        if (scope == null) return;
+        while (scope.parent != null) {
+            scope = scope.parent;
+        }
+        scope.charge(DataEvents.fileName(file), byteCount);
+    }
+
+    private void charge(String file, long byteCount) {
+        reads++;
+        bytes += byteCount;
+        long[] perFile = readsByFile.computeIfAbsent(file, k -> new long[2]);
+        perFile[0]++;
+        perFile[1] += byteCount;
+        if (overBudgetAt == null && isOverBudget()) {
+            // The read that crosses the budget is usually the one inside the loop
+            overBudgetAt = Thread.currentThread().getStackTrace();
+        }
+    }
+
+    private boolean isOverBudget() {
+        return reads > MAX_READS || bytes > MAX_BYTES;
+    }
+
+    // An action that failed keeps its own exception; the report is still printed
+    private void close(boolean completed) {
+        if (this == DISABLED) return;
+        if (parent != null) {
+            current.set(parent);
+            return;
+        }
+        current.remove();
+        if (!isOverBudget()) return;
+
+        MetricsRegistry.getInstance().counter("readScopes.overBudget").increment();
+        String report = report();
+        System.err.print(report);
+        if (STRICT && completed) {
+            throw new IllegalStateException(report);
+        }
+    }
+
+    private String report() {
+        StringBuilder out = new StringBuilder();
+        out.append("Read budget exceeded in ").append(name).append(": ").append(reads).append(" reads, ")
+           .append(bytes).append(" bytes (budget ").append(MAX_READS).append(" reads, ")
+           .append(MAX_BYTES).append(" bytes)\n");
+        for (Map.Entry<String, long[]> entry : readsByFile.entrySet()) {
+            out.append("    ").append(entry.getKey()).append(": ").append(entry.getValue()[0]).append(" reads, ")
+               .append(entry.getValue()[1]).append(" bytes\n");
+        }
+        if (overBudgetAt != null) {
+            out.append("  budget crossed at:\n");
+            int lines = 0;
+            for (StackTraceElement frame : overBudgetAt) {
+                if (!frame.getClassName().startsWith("gui.") || frame.getClassName().equals(ReadScope.class.getName())
+                        || frame.getClassName().equals(MetricsRegistry.class.getName())) {
+                    continue;
+                }
+                out.append("    at ").append(frame).append('\n');
+                if (++lines == STACK_LINES) break;
+            }
+        }
+        return out.toString();
+    }
+}
@@ -30,9 +30,10 @@ public class Rental {
     }
     
     private String rentalId;
-    private String memberId;
-    private String costumeId;
-    private String size;
+    // Member ID, costume ID and size as IdDictionary codes
+    private int memberCode;
+    private int costumeCode;
+    private int sizeCode;
     private LocalDate rentalDate;
     private LocalDate returnDate;
     private LocalDate actualReturnDate;
@@ -45,9 +46,9 @@ public class Rental {
     public Rental(String rentalId, String memberId, String costumeId, String size,
                   LocalDate rentalDate, LocalDate returnDate, double totalCost, double dailyRate) { 
         this.rentalId = rentalId;
-        this.memberId = memberId;
-        this.costumeId = costumeId;
-        this.size = size;
+        this.memberCode = IdDictionary.MEMBERS.intern(memberId);
+        this.costumeCode = IdDictionary.COSTUMES.intern(costumeId);
+        this.sizeCode = IdDictionary.SIZES.intern(size);
         this.rentalDate = rentalDate;
         this.returnDate = returnDate;
         this.totalCost = totalCost;
@@ -62,10 +63,18 @@ public class Rental {
     public Rental(String rentalId, String memberId, String costumeId, String size,
                   LocalDate rentalDate, LocalDate returnDate, LocalDate actualReturnDate,
                   double totalCost, double dailyRate, double lateFee, RentalStatus status) { 
+        this(rentalId, IdDictionary.MEMBERS.intern(memberId), IdDictionary.COSTUMES.intern(costumeId),
+             IdDictionary.SIZES.intern(size), rentalDate, returnDate, actualReturnDate, totalCost, dailyRate, lateFee, status);
+    }
+
+    // With already interned codes (used when loading the data snapshot)
+    Rental(String rentalId, int memberCode, int costumeCode, int sizeCode,
+           LocalDate rentalDate, LocalDate returnDate, LocalDate actualReturnDate,
+           double totalCost, double dailyRate, double lateFee, RentalStatus status) {
         this.rentalId = rentalId;
-        this.memberId = memberId;
-        this.costumeId = costumeId;
-        this.size = size;
+        this.memberCode = memberCode;
+        this.costumeCode = costumeCode;
+        this.sizeCode = sizeCode;
         this.rentalDate = rentalDate;
         this.returnDate = returnDate;
         this.actualReturnDate = actualReturnDate;
@@ -81,15 +90,27 @@ public class Rental {
     }
     
     public String getMemberId() {
-        return memberId;
+        return IdDictionary.MEMBERS.get(memberCode);
     }
     
     public String getCostumeId() {
-        return costumeId;
+        return IdDictionary.COSTUMES.get(costumeCode);
     }
     
     public String getSize() {
-        return size;
+        return IdDictionary.SIZES.get(sizeCode);
+    }
+
+    public int getMemberCode() {
+        return memberCode;
+    }
+
+    public int getCostumeCode() {
+        return costumeCode;
+    }
+
+    public int getSizeCode() {
+        return sizeCode;
     }
     
     public LocalDate getRentalDate() {
@@ -126,15 +147,15 @@ public class Rental {
     }
     
     public void setMemberId(String memberId) {
-        this.memberId = memberId;
+        this.memberCode = IdDictionary.MEMBERS.intern(memberId);
     }
     
     public void setCostumeId(String costumeId) {
-        this.costumeId = costumeId;
+        this.costumeCode = IdDictionary.COSTUMES.intern(costumeId);
     }
     
     public void setSize(String size) {
-        this.size = size;
+        this.sizeCode = IdDictionary.SIZES.intern(size);
     }
     
     public void setRentalDate(LocalDate rentalDate) {
@@ -171,7 +192,7 @@ public class Rental {
         if (actualReturnDate != null) {
             return Math.max(0, ChronoUnit.DAYS.between(returnDate, actualReturnDate));
         } else {
-            return Math.max(0, ChronoUnit.DAYS.between(returnDate, LocalDate.now()));
+            return Math.max(0, ChronoUnit.DAYS.between(returnDate, RentalClock.today()));
         }
     }
     
@@ -179,7 +200,7 @@ public class Rental {
         if (status == RentalStatus.RETURNED || status == RentalStatus.CANCELLED) {
             return false;
         }
-        return LocalDate.now().isAfter(returnDate);
+        return RentalClock.today().isAfter(returnDate);
     }
     
     public void updateStatus() {
@@ -187,7 +208,7 @@ public class Rental {
             return; 
         }
         
-        LocalDate today = LocalDate.now();
+        LocalDate today = RentalClock.today();
         
         if (today.isBefore(rentalDate)) {
             status = RentalStatus.RESERVED;
@@ -232,9 +253,9 @@ public class Rental {
         String actualReturnDateStr = (actualReturnDate != null) ? actualReturnDate.toString() : "";
         return String.join(",",
                 rentalId,
-                memberId,
-                costumeId,
-                size,
+                getMemberId(),
+                getCostumeId(),
+                getSize(),
                 rentalDate.toString(),
                 returnDate.toString(),
                 actualReturnDateStr,
@@ -279,7 +300,7 @@ public class Rental {
     @Override
     public String toString() {
         return String.format("Rental{id='%s', member='%s', costume='%s', period=%s to %s, status=%s, cost=%.2f}",
-                rentalId, memberId, costumeId, getFormattedRentalDate(), getFormattedReturnDate(), 
+                rentalId, getMemberId(), getCostumeId(), getFormattedRentalDate(), getFormattedReturnDate(), 
                 status.getDisplayName(), getTotalPayment());
     }
 }
\ No newline at end of file
@@ -0,0 +1,299 @@
+package gui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Cold storage for completed (RETURNED / CANCELLED) rentals.
+// They are moved out of rentals.csv into one file per month of the rental date,
+// gui/archive/rentals-YYYY-MM.csv, so the live file and the in-memory working set only
+// hold rentals that still matter for availability. Archived rentals never change again;
+// history queries read the month files on demand and keep the most recently used months
+// cached until the file changes on disk (e.g. another terminal archived more rentals into the
+// same month). Every month also has a small MonthSummary (per-costume and per-status counts
+// and the sorted rental numbers) that is kept for the life of the process, so popularity
+// counts, status totals and ID lookups do not need the rentals themselves.
+public class RentalArchive {
+    private static final Path ARCHIVE_DIRECTORY = Paths.get("./gui/archive");
+    private static final String FILE_PREFIX = "rentals-";
+    private static final String FILE_SUFFIX = ".csv";
+    private static final int MAX_CACHED_MONTHS = 12;
+
+    private static RentalArchive instance;
+
+    // Least recently used months are dropped first
+    private final Map<Path, CachedMonth> cache = Collections.synchronizedMap(
+        new LinkedHashMap<Path, CachedMonth>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, CachedMonth> eldest) {
+                return size() > MAX_CACHED_MONTHS;
+            }
+        });
+    private final Map<Path, MonthSummary> summaries = new ConcurrentHashMap<>();
+    private static final MetricsRegistry.Counter CACHE_HITS = MetricsRegistry.getInstance().counter("cache.archiveMonths.hits");
+    private static final MetricsRegistry.Counter CACHE_MISSES = MetricsRegistry.getInstance().counter("cache.archiveMonths.misses");
+
+    private static class CachedMonth {
+        final FileTime modified;
+        final long size;
+        final List<Rental> rentals;
+
+        CachedMonth(FileTime modified, long size, List<Rental> rentals) {
+            this.modified = modified;
+            this.size = size;
+            this.rentals = rentals;
+        }
+    }
+
+    private static class MonthSummary {
+        final FileTime modified;
+        final long size;
+        // Rentals per costume ID, cancelled ones excluded
+        final Map<String, Integer> costumeCounts = new HashMap<>();
+        // Rentals per Rental.RentalStatus ordinal
+        final int[] statusCounts = new int[Rental.RentalStatus.values().length];
+        // Sorted rental numbers (4 bytes per archived rental)
+        final int[] rentalNumbers;
+        // Sorted distinct IdDictionary.MEMBERS codes of the month's rentals
+        final int[] memberCodes;
+
+        MonthSummary(FileTime modified, long size, Collection<Rental> rentals) {
+            this.modified = modified;
+            this.size = size;
+            rentalNumbers = new int[rentals.size()];
+            int[] members = new int[rentals.size()];
+            int i = 0;
+            for (Rental rental : rentals) {
+                if (rental.getStatus() != Rental.RentalStatus.CANCELLED) {
+                    costumeCounts.merge(rental.getCostumeId(), 1, Integer::sum);
+                }
+                statusCounts[rental.getStatus().ordinal()]++;
+                members[i] = rental.getMemberCode();
+                rentalNumbers[i++] = RentalService.parseRentalNumber(rental.getRentalId());
+            }
+            Arrays.sort(rentalNumbers);
+            memberCodes = Arrays.stream(members).sorted().distinct().toArray();
+        }
+
+        boolean mayContain(int rentalNumber) {
+            return Arrays.binarySearch(rentalNumbers, rentalNumber) >= 0;
+        }
+
+        boolean hasMember(int memberCode) {
+            return Arrays.binarySearch(memberCodes, memberCode) >= 0;
+        }
+    }
+
+    private RentalArchive() {
+    }
+
+    public static synchronized RentalArchive getInstance() {
+        if (instance == null) {
+            instance = new RentalArchive();
+        }
+        return instance;
+    }
+
+    static boolean isCompleted(Rental rental) {
+        return rental.getStatus() == Rental.RentalStatus.RETURNED
+               || rental.getStatus() == Rental.RentalStatus.CANCELLED;
+    }
+
+    // Append completed rentals to their month files. Must run under the data directory lock.
+    // A rental already in the archive is replaced, so retrying after a crash is harmless.
+    void archive(List<Rental> completed) throws IOException {
+        Map<YearMonth, List<Rental>> byMonth = new TreeMap<>();
+        for (Rental rental : completed) {
+            byMonth.computeIfAbsent(YearMonth.from(rental.getRentalDate()), m -> new ArrayList<>()).add(rental);
+        }
+
+        for (Map.Entry<YearMonth, List<Rental>> entry : byMonth.entrySet()) {
+            Path file = monthFile(entry.getKey());
+            Map<String, Rental> merged = new LinkedHashMap<>();
+            for (Rental rental : readMonth(file)) {
+                merged.put(rental.getRentalId(), rental);
+            }
+            for (Rental rental : entry.getValue()) {
+                merged.put(rental.getRentalId(), rental);
+            }
+
+            List<String> lines = new ArrayList<>();
+            lines.add("# Rental Management System - Archived Rentals " + entry.getKey());
+            lines.add("# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status");
+            for (Rental rental : merged.values()) {
+                lines.add(rental.toCsvString());
+            }
+            AtomicFileWriter.writeLines(file, lines);
+            cache.remove(file);
+            summaries.put(file, new MonthSummary(Files.getLastModifiedTime(file), Files.size(file), merged.values()));
+        }
+    }
+
+    public List<Rental> getAllRentals() {
+        List<Rental> rentals = new ArrayList<>();
+        for (Path file : monthFiles()) {
+            rentals.addAll(cachedMonth(file));
+        }
+        return rentals;
+    }
+
+    // Only reads the months whose summary lists the member
+    public List<Rental> getRentalsByMemberId(String memberId) {
+        List<Rental> rentals = new ArrayList<>();
+        List<Path> files = monthFiles();
+        List<MonthSummary> monthSummaries = new ArrayList<>(files.size());
+        for (Path file : files) {
+            monthSummaries.add(summary(file));
+        }
+        // Looked up after the summaries, whose files may have interned the member
+        int memberCode = IdDictionary.MEMBERS.find(memberId);
+        if (memberCode < 0) return rentals;
+        for (int i = 0; i < files.size(); i++) {
+            MonthSummary summary = monthSummaries.get(i);
+            if (summary == null || !summary.hasMember(memberCode)) continue;
+            for (Rental rental : cachedMonth(files.get(i))) {
+                if (rental.getMemberCode() == memberCode) {
+                    rentals.add(rental);
+                }
+            }
+        }
+        return rentals;
+    }
+
+    // Number of archived rentals per costume ID, cancelled ones excluded
+    public Map<String, Integer> getRentalCountsByCostume() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Path file : monthFiles()) {
+            MonthSummary summary = summary(file);
+            if (summary == null) continue;
+            for (Map.Entry<String, Integer> entry : summary.costumeCounts.entrySet()) {
+                counts.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    // Number of archived rentals per status, from the month summaries
+    public Map<Rental.RentalStatus, Integer> getRentalCountsByStatus() {
+        Map<Rental.RentalStatus, Integer> counts = new EnumMap<>(Rental.RentalStatus.class);
+        for (Rental.RentalStatus status : Rental.RentalStatus.values()) {
+            counts.put(status, 0);
+        }
+        for (Path file : monthFiles()) {
+            MonthSummary summary = summary(file);
+            if (summary == null) continue;
+            for (Rental.RentalStatus status : Rental.RentalStatus.values()) {
+                counts.merge(status, summary.statusCounts[status.ordinal()], Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    // Only reads the month whose summary lists the rental number
+    public Rental findRentalById(String rentalId) {
+        int rentalNumber = RentalService.parseRentalNumber(rentalId);
+        for (Path file : monthFiles()) {
+            MonthSummary summary = summary(file);
+            if (summary == null || !summary.mayContain(rentalNumber)) continue;
+            for (Rental rental : cachedMonth(file)) {
+                if (rental.getRentalId().equals(rentalId)) {
+                    return rental;
+                }
+            }
+        }
+        return null;
+    }
+
+    private List<Rental> cachedMonth(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            CachedMonth cached = cache.get(file);
+            if (cached == null || !cached.modified.equals(modified) || cached.size != size) {
+                CACHE_MISSES.increment();
+                cached = new CachedMonth(modified, size, Collections.unmodifiableList(readMonth(file)));
+                cache.put(file, cached);
+            } else {
+                CACHE_HITS.increment();
+            }
+            return cached.rentals;
+        } catch (IOException e) {
+            System.err.println("Error reading rental archive " + file + ": " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    // Summarises every month file that has none yet, so the first history query on the UI
+    // thread does not have to read the whole archive
+    void loadSummaries() {
+        for (Path file : monthFiles()) {
+            summary(file);
+        }
+    }
+
+    private MonthSummary summary(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            MonthSummary summary = summaries.get(file);
+            if (summary == null || !summary.modified.equals(modified) || summary.size != size) {
+                // Read directly so summarising every month does not evict the cached ones
+                summary = new MonthSummary(modified, size, readMonth(file));
+                summaries.put(file, summary);
+            }
+            return summary;
+        } catch (IOException e) {
+            System.err.println("Error reading rental archive " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static List<Rental> readMonth(Path file) throws IOException {
+        List<Rental> rentals = new ArrayList<>();
+        if (!Files.exists(file)) return rentals;
+        for (String line : FileIO.readLines(file)) {
+            if (line.trim().isEmpty() || line.startsWith("#")) continue;
+            try {
+                rentals.add(Rental.fromCsvString(line));
+            } catch (Exception e) {
+                System.err.println("Error parsing archived rental line: " + line + " - " + e.getMessage());
+            }
+        }
+        return rentals;
+    }
+
+    // Month files in chronological order
+    static List<Path> monthFiles() {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(ARCHIVE_DIRECTORY)) return files;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(ARCHIVE_DIRECTORY, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Error listing rental archive: " + e.getMessage());
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    private static Path monthFile(YearMonth month) {
+        return ARCHIVE_DIRECTORY.resolve(FILE_PREFIX + month + FILE_SUFFIX);
+    }
+}
@@ -0,0 +1,76 @@
+package gui;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+// The rental model and services ask this class for "today" instead of LocalDate.now(), so
+// status changes, overdue days and late fees can be replayed on simulated dates.
+// It is the system clock unless another one is installed, e.g. a RentalClock.Manual by
+// PeakSeasonSimulation. Install it before the first RentalService is created: the status
+// scheduler starts from the day it is created on.
+public final class RentalClock {
+    private static volatile Clock clock = Clock.systemDefaultZone();
+
+    private RentalClock() {
+    }
+
+    public static Clock get() {
+        return clock;
+    }
+
+    public static void set(Clock newClock) {
+        clock = newClock;
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    public static LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    // A clock that only moves when told to
+    public static final class Manual extends Clock {
+        private final ZoneId zone;
+        private volatile Instant instant;
+
+        public Manual(LocalDateTime start, ZoneId zone) {
+            this.zone = zone;
+            this.instant = start.atZone(zone).toInstant();
+        }
+
+        public Manual(LocalDate start) {
+            this(start.atTime(LocalTime.of(9, 0)), ZoneId.systemDefault());
+        }
+
+        // Moves to the given day, keeping the time of day
+        public void setDate(LocalDate date) {
+            LocalTime time = LocalDateTime.ofInstant(instant, zone).toLocalTime();
+            instant = date.atTime(time).atZone(zone).toInstant();
+        }
+
+        public void advanceDays(long days) {
+            setDate(LocalDateTime.ofInstant(instant, zone).toLocalDate().plusDays(days));
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId otherZone) {
+            return new Manual(LocalDateTime.ofInstant(instant, otherZone), otherZone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
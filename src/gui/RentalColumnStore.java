@@ -0,0 +1,209 @@
+package gui;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Read-only, column-oriented copy of the rental history for admin analytics.
+// Each field is one primitive array (row i of every array is rental i), so an aggregate
+// scans a few dense arrays sequentially instead of chasing Rental objects around the heap.
+// Money is kept in cents. Build a new store to see later changes.
+public final class RentalColumnStore {
+    private final int size;
+    private final int[] rentalDay;      // epoch day
+    private final int[] returnDay;      // epoch day
+    private final int[] rentalMonth;    // year * 12 + month - 1, for month buckets
+    private final int[] memberCode;     // IdDictionary.MEMBERS
+    private final int[] costumeCode;    // IdDictionary.COSTUMES
+    private final byte[] status;        // Rental.RentalStatus ordinal
+    private final long[] totalCents;
+    private final long[] lateFeeCents;
+
+    // CostumeEvent ordinal per costume code (-1 = costume no longer in the catalog)
+    private final int[] eventByCostume;
+
+    private RentalColumnStore(int size, List<Rental> rentals, List<Costume> catalog) {
+        this.size = size;
+        rentalDay = new int[size];
+        returnDay = new int[size];
+        rentalMonth = new int[size];
+        memberCode = new int[size];
+        costumeCode = new int[size];
+        status = new byte[size];
+        totalCents = new long[size];
+        lateFeeCents = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            Rental rental = rentals.get(i);
+            rentalDay[i] = (int) rental.getRentalDate().toEpochDay();
+            returnDay[i] = (int) rental.getReturnDate().toEpochDay();
+            rentalMonth[i] = monthIndex(rental.getRentalDate());
+            memberCode[i] = rental.getMemberCode();
+            costumeCode[i] = rental.getCostumeCode();
+            status[i] = (byte) rental.getStatus().ordinal();
+            totalCents[i] = Math.round(rental.getTotalCost() * 100);
+            lateFeeCents[i] = Math.round(rental.getLateFee() * 100);
+        }
+
+        int maxCostumeCode = -1;
+        for (int i = 0; i < size; i++) {
+            maxCostumeCode = Math.max(maxCostumeCode, costumeCode[i]);
+        }
+        eventByCostume = new int[maxCostumeCode + 1];
+        Arrays.fill(eventByCostume, -1);
+        for (Costume costume : catalog) {
+            int code = IdDictionary.COSTUMES.find(costume.getCostumeId());
+            if (code >= 0 && code < eventByCostume.length) {
+                eventByCostume[code] = costume.getEvent().ordinal();
+            }
+        }
+    }
+
+    public static RentalColumnStore build(List<Rental> rentals, List<Costume> catalog) {
+        return new RentalColumnStore(rentals.size(), rentals, catalog);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Earliest and latest rental date in the store (today if it is empty)
+    public LocalDate getFirstRentalDate() {
+        int first = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            first = Math.min(first, rentalDay[i]);
+        }
+        return size == 0 ? RentalClock.today() : LocalDate.ofEpochDay(first);
+    }
+
+    public LocalDate getLastRentalDate() {
+        int last = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            last = Math.max(last, rentalDay[i]);
+        }
+        return size == 0 ? RentalClock.today() : LocalDate.ofEpochDay(last);
+    }
+
+    // Revenue (total cost + late fee, cancelled rentals excluded) per month of the rental date
+    public Map<YearMonth, Long> revenueByMonth(LocalDate from, LocalDate to) {
+        Map<YearMonth, Long> result = new LinkedHashMap<>();
+        if (to.isBefore(from)) return result;
+        int firstMonth = monthIndex(from);
+        long[] buckets = new long[monthIndex(to) - firstMonth + 1];
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int cancelled = Rental.RentalStatus.CANCELLED.ordinal();
+
+        for (int i = 0; i < size; i++) {
+            if (rentalDay[i] < fromDay || rentalDay[i] > toDay || status[i] == cancelled) continue;
+            buckets[rentalMonth[i] - firstMonth] += totalCents[i] + lateFeeCents[i];
+        }
+
+        for (int m = 0; m < buckets.length; m++) {
+            int month = firstMonth + m;
+            result.put(YearMonth.of(month / 12, month % 12 + 1), buckets[m]);
+        }
+        return result;
+    }
+
+    // Revenue per costume event; rentals of costumes no longer in the catalog are left out
+    public Map<CostumeEvent, Long> revenueByEvent(LocalDate from, LocalDate to) {
+        long[] buckets = new long[CostumeEvent.values().length];
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int cancelled = Rental.RentalStatus.CANCELLED.ordinal();
+
+        for (int i = 0; i < size; i++) {
+            if (rentalDay[i] < fromDay || rentalDay[i] > toDay || status[i] == cancelled) continue;
+            int event = eventByCostume[costumeCode[i]];
+            if (event >= 0) {
+                buckets[event] += totalCents[i] + lateFeeCents[i];
+            }
+        }
+
+        Map<CostumeEvent, Long> result = new EnumMap<>(CostumeEvent.class);
+        for (CostumeEvent event : CostumeEvent.values()) {
+            if (buckets[event.ordinal()] != 0) {
+                result.put(event, buckets[event.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    // Revenue per costume ID
+    public Map<String, Long> revenueByCostume(LocalDate from, LocalDate to) {
+        long[] buckets = new long[eventByCostume.length];
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int cancelled = Rental.RentalStatus.CANCELLED.ordinal();
+
+        for (int i = 0; i < size; i++) {
+            if (rentalDay[i] < fromDay || rentalDay[i] > toDay || status[i] == cancelled) continue;
+            buckets[costumeCode[i]] += totalCents[i] + lateFeeCents[i];
+        }
+
+        Map<String, Long> result = new TreeMap<>();
+        for (int code = 0; code < buckets.length; code++) {
+            if (buckets[code] != 0) {
+                result.put(IdDictionary.COSTUMES.get(code), buckets[code]);
+            }
+        }
+        return result;
+    }
+
+    // Number of rentals per status whose rental date falls in the range
+    public Map<Rental.RentalStatus, Integer> countByStatus(LocalDate from, LocalDate to) {
+        int[] counts = new int[Rental.RentalStatus.values().length];
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        for (int i = 0; i < size; i++) {
+            if (rentalDay[i] >= fromDay && rentalDay[i] <= toDay) {
+                counts[status[i]]++;
+            }
+        }
+
+        Map<Rental.RentalStatus, Integer> result = new EnumMap<>(Rental.RentalStatus.class);
+        for (Rental.RentalStatus s : Rental.RentalStatus.values()) {
+            result.put(s, counts[s.ordinal()]);
+        }
+        return result;
+    }
+
+    // Average rental length in days (rental to planned return), cancelled rentals excluded
+    public double averageRentalDays(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        int cancelled = Rental.RentalStatus.CANCELLED.ordinal();
+        long days = 0;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (rentalDay[i] < fromDay || rentalDay[i] > toDay || status[i] == cancelled) continue;
+            days += returnDay[i] - rentalDay[i] + 1;
+            count++;
+        }
+        return count == 0 ? 0 : (double) days / count;
+    }
+
+    // Distinct members with at least one rental in the range
+    public int activeMemberCount(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        BitSet members = new BitSet();
+        for (int i = 0; i < size; i++) {
+            if (rentalDay[i] >= fromDay && rentalDay[i] <= toDay) {
+                members.set(memberCode[i]);
+            }
+        }
+        return members.cardinality();
+    }
+
+    private static int monthIndex(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+}
@@ -111,7 +111,7 @@ public class RentalFrame extends JFrame {
         rentalDaysSpinner.setFont(new Font("Arial", Font.BOLD, 14));
         
         // Start date selection - separate spinners for year, month, day
-        LocalDate tomorrow = LocalDate.now().plusDays(1); // Start from tomorrow
+        LocalDate tomorrow = RentalClock.today().plusDays(1); // Start from tomorrow
         
         // Year spinner 
         int currentYear = tomorrow.getYear();
@@ -593,16 +593,8 @@ public class RentalFrame extends JFrame {
     private void setupSizeComboBox() {
         sizeComboBox.removeAllItems();
 
-        java.util.List<String> order = java.util.List.of("XS", "S", "M", "L", "XL", "XXL", "One Size");
-        java.util.List<String> available = new java.util.ArrayList<>(selectedCostume.getAvailableSizes());
-
-        for (String size : order) {
-            if (available.contains(size)) {
-                sizeComboBox.addItem(size);
-                available.remove(size);
-            }
-        }
-        for (String size : available) {
+        // Already in size order: standard sizes first, then custom ones
+        for (String size : selectedCostume.getAvailableSizes()) {
             sizeComboBox.addItem(size);
         }
 
@@ -700,89 +692,91 @@ public class RentalFrame extends JFrame {
     }
     
     private void processRental() {
-        if (!agreeCheckBox.isSelected()) {
-            JOptionPane.showMessageDialog(this,
-                "Please agree to the terms and conditions.",
-                "Agreement Required",
-                JOptionPane.WARNING_MESSAGE);
-            return;
-        }
+        ReadScope.run("RentalFrame.processRental", () -> {
+            if (!agreeCheckBox.isSelected()) {
+                JOptionPane.showMessageDialog(this,
+                    "Please agree to the terms and conditions.",
+                    "Agreement Required",
+                    JOptionPane.WARNING_MESSAGE);
+                return;
+            }
         
-        String selectedSize = (String) sizeComboBox.getSelectedItem();
-        if (selectedSize == null) {
-            // This case normally doesn't occur but just in case
-            return;
-        }
+            String selectedSize = (String) sizeComboBox.getSelectedItem();
+            if (selectedSize == null) {
+                // This case normally doesn't occur but just in case
+                return;
+            }
 
-        try {
-            // Calculate rental period
-            int days = (Integer) rentalDaysSpinner.getValue();
-            LocalDate startDate = getSelectedDate();
-            LocalDate endDate = startDate.plusDays(days - 1);
+            try {
+                // Calculate rental period
+                int days = (Integer) rentalDaysSpinner.getValue();
+                LocalDate startDate = getSelectedDate();
+                LocalDate endDate = startDate.plusDays(days - 1);
 
-            // Check stock availability for selected period
-            boolean isAvailable = FileIO.getInstance().isStockAvailableForPeriod(selectedCostume.getCostumeId(), selectedSize, startDate, endDate);
-            if (!isAvailable) {
-                JOptionPane.showMessageDialog(this,
-                    "The selected period includes dates with no stock available.\nPlease check the stock calendar and select a different period.",
-                    "Stock Unavailable",
-                    JOptionPane.ERROR_MESSAGE);
-                return; // Stop processing due to no stock
-            }
+                // Check stock availability for selected period
+                boolean isAvailable = rentalService.isStockAvailableForPeriod(selectedCostume.getCostumeId(), selectedSize, startDate, endDate);
+                if (!isAvailable) {
+                    JOptionPane.showMessageDialog(this,
+                        "The selected period includes dates with no stock available.\nPlease check the stock calendar and select a different period.",
+                        "Stock Unavailable",
+                        JOptionPane.ERROR_MESSAGE);
+                    return; // Stop processing due to no stock
+                }
 
-            double dailyRate = selectedCostume.getPrice() * DAILY_RATE_MULTIPLIER;
-            double totalCost = dailyRate * days;
-            
-            // Create rental
-            boolean success = rentalService.createRental(
-                currentMemberId,
-                selectedCostume.getCostumeId(),
-                selectedSize,
-                startDate,
-                endDate,
-                totalCost
-            );
+                double dailyRate = selectedCostume.getPrice() * DAILY_RATE_MULTIPLIER;
+                double totalCost = dailyRate * days;
             
-            if (success) {
-                // Success message
-                String message = String.format(
-                    "Rental confirmed successfully!\n\n" +
-                    "Costume: %s\n" +
-                    "Period: %s to %s\n" +
-                    "Total Cost: $%.2f\n\n" +
-                    "Please pick up the costume on the start date.\n" +
-                    "Thank you for using our service!",
-                    selectedCostume.getCostumeName(),
-                    startDate.format(DateTimeFormatter.ofPattern("yyyy/MM/dd")),
-                    endDate.format(DateTimeFormatter.ofPattern("yyyy/MM/dd")),
+                // Create rental (re-checks availability atomically in case another terminal booked meanwhile)
+                boolean success = rentalService.createRental(
+                    currentMemberId,
+                    selectedCostume.getCostumeId(),
+                    selectedSize,
+                    startDate,
+                    endDate,
                     totalCost
                 );
+            
+                if (success) {
+                    // Success message
+                    String message = String.format(
+                        "Rental confirmed successfully!\n\n" +
+                        "Costume: %s\n" +
+                        "Period: %s to %s\n" +
+                        "Total Cost: $%.2f\n\n" +
+                        "Please pick up the costume on the start date.\n" +
+                        "Thank you for using our service!",
+                        selectedCostume.getCostumeName(),
+                        startDate.format(DateTimeFormatter.ofPattern("yyyy/MM/dd")),
+                        endDate.format(DateTimeFormatter.ofPattern("yyyy/MM/dd")),
+                        totalCost
+                    );
                 
-                JOptionPane.showMessageDialog(this,
-                    message,
-                    "Rental Confirmed",
-                    JOptionPane.INFORMATION_MESSAGE);
+                    JOptionPane.showMessageDialog(this,
+                        message,
+                        "Rental Confirmed",
+                        JOptionPane.INFORMATION_MESSAGE);
                 
-                if (calendarDialog != null) {
-                    calendarDialog.dispose();
-                }
+                    if (calendarDialog != null) {
+                        calendarDialog.dispose();
+                    }
                 
-                dispose(); // Close window
+                    dispose(); // Close window
                 
-            } else {
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                        "Failed to process rental. Please try again.",
+                        "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            
+            } catch (Exception e) {
                 JOptionPane.showMessageDialog(this,
-                    "Failed to process rental. Please try again.",
+                    "An error occurred: " + e.getMessage(),
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
+                e.printStackTrace();
             }
-            
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this,
-                "An error occurred: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        });
     }
     
     private void positionCalendarToRight() {
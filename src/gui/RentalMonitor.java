@@ -0,0 +1,140 @@
+package gui;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Live inventory, rental and cache statistics on the platform MBean server, so a running
+// terminal can be watched with jconsole/VisualVM (or any local JMX client) without opening
+// the admin dashboard. Every attribute is computed when it is read.
+public class RentalMonitor implements RentalMonitorMXBean {
+    public static final String OBJECT_NAME = "gui:type=RentalMonitor";
+
+    private static boolean registered = false;
+
+    private RentalMonitor() {
+    }
+
+    public static synchronized void register() {
+        if (registered) return;
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new RentalMonitor(), name);
+            }
+            registered = true;
+        } catch (JMException e) {
+            System.err.println("Could not register " + OBJECT_NAME + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Integer> getRentalCountsByStatus() {
+        InventorySnapshot snapshot = InventoryState.getInstance().current();
+        Map<Rental.RentalStatus, Integer> archived = RentalArchive.getInstance().getRentalCountsByStatus();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Rental.RentalStatus status : Rental.RentalStatus.values()) {
+            counts.put(status.name(), snapshot.getRentalCount(status) + archived.get(status));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Integer> getWorkingSetCountsByStatus() {
+        InventorySnapshot snapshot = InventoryState.getInstance().current();
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Rental.RentalStatus status : Rental.RentalStatus.values()) {
+            counts.put(status.name(), snapshot.getRentalCount(status));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<String, Integer> getArchivedCountsByStatus() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<Rental.RentalStatus, Integer> entry : RentalArchive.getInstance().getRentalCountsByStatus().entrySet()) {
+            counts.put(entry.getKey().name(), entry.getValue());
+        }
+        return counts;
+    }
+
+    @Override
+    public int getCatalogSize() {
+        return InventoryState.getInstance().current().getCostumes().size();
+    }
+
+    @Override
+    public int getWorkingSetSize() {
+        return RentalService.getWorkingSetSize();
+    }
+
+    @Override
+    public int getPendingBookings() {
+        return RentalService.getPendingBookingCount();
+    }
+
+    @Override
+    public Map<String, Long> getDataFileSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        for (Path file : new Path[] {DataSnapshot.COSTUMES_CSV, DataSnapshot.RENTALS_CSV, DataSnapshot.MEMBERS_CSV,
+                                     DataSnapshot.SNAPSHOT_PATH, SharedDataDirectory.JOURNAL_PATH}) {
+            sizes.put(DataEvents.fileName(file), DataEvents.sizeOf(file));
+        }
+        long archive = 0;
+        for (Path file : RentalArchive.monthFiles()) {
+            archive += Math.max(0, DataEvents.sizeOf(file));
+        }
+        sizes.put("archive", archive);
+        return sizes;
+    }
+
+    @Override
+    public double getLastSaveDurationMillis() {
+        long nanos = RentalService.getLastSaveNanos();
+        return nanos < 0 ? -1 : nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String getLastSaveTime() {
+        LocalDateTime time = RentalService.getLastSaveTime();
+        return time == null ? "" : time.toString();
+    }
+
+    // Pairs the "cache.<name>.hits" and "cache.<name>.misses" counters of MetricsRegistry
+    @Override
+    public Map<String, Double> getCacheHitRates() {
+        Map<String, Long> counters = MetricsRegistry.getInstance().getCounterValues();
+        Map<String, Double> rates = new TreeMap<>();
+        for (Map.Entry<String, Long> entry : counters.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith("cache.") || !key.endsWith(".hits")) continue;
+            String cache = key.substring("cache.".length(), key.length() - ".hits".length());
+            long hits = entry.getValue();
+            long total = hits + counters.getOrDefault("cache." + cache + ".misses", 0L);
+            rates.put(cache, total == 0 ? -1 : (double) hits / total);
+        }
+        return rates;
+    }
+
+    @Override
+    public long getJournalLength() {
+        return SharedDataDirectory.getInstance().getJournalLength();
+    }
+
+    @Override
+    public long getPendingRemoteChanges() {
+        return SharedDataDirectory.getInstance().getPendingChangeCount();
+    }
+
+    @Override
+    public long getSnapshotVersion() {
+        return InventoryState.getInstance().current().getVersion();
+    }
+}
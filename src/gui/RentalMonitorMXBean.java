@@ -0,0 +1,39 @@
+package gui;
+
+import java.util.Map;
+
+// Management interface of RentalMonitor, registered as gui:type=RentalMonitor
+public interface RentalMonitorMXBean {
+    // All rentals, working set plus archive, by Rental.RentalStatus name
+    Map<String, Integer> getRentalCountsByStatus();
+
+    // Rentals still in rentals.csv by status
+    Map<String, Integer> getWorkingSetCountsByStatus();
+
+    // Rentals in the monthly archive files by status (RETURNED and CANCELLED only)
+    Map<String, Integer> getArchivedCountsByStatus();
+
+    int getCatalogSize();
+
+    int getWorkingSetSize();
+
+    int getPendingBookings();
+
+    // Bytes per data file; "archive" is the total of the monthly archive files
+    Map<String, Long> getDataFileSizes();
+
+    // -1 until this terminal has written rentals.csv
+    double getLastSaveDurationMillis();
+
+    String getLastSaveTime();
+
+    // Hits / (hits + misses) per data-layer cache, -1 if it was never used
+    Map<String, Double> getCacheHitRates();
+
+    long getJournalLength();
+
+    // Changes journaled by other terminals that this one has not applied yet
+    long getPendingRemoteChanges();
+
+    long getSnapshotVersion();
+}
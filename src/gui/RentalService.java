@@ -2,36 +2,418 @@ package gui;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 public class RentalService {
     private static final String RENTAL_FILE_PATH = "gui/rentals.csv";
-    private List<Rental> allRentals;
-    private CostumeDataManager costumeManager;
+    // Archived rentals leave rentals.csv, so the highest ID ever issued is kept in its header
+    private static final String HIGHEST_ID_HEADER = "# Highest rental ID: ";
+
+    // Shared by every RentalService instance so all screens book against the same state.
+    // Ordered by rental number: a booking or removal touches one entry, and scans (and
+    // rentals.csv) see the rentals in ID order without locking or copying the working set.
+    private static final Comparator<String> RENTAL_ID_ORDER =
+        Comparator.comparingInt(RentalService::parseRentalNumber).thenComparing(Comparator.naturalOrder());
+    private static final ConcurrentSkipListMap<String, Rental> rentalsById = new ConcurrentSkipListMap<>(RENTAL_ID_ORDER);
+    private static final Collection<Rental> allRentals = rentalsById.values();
+    // Bookings inserted in memory but not yet written to rentals.csv
+    private static final Set<Rental> pendingBookings = ConcurrentHashMap.newKeySet();
+    private static final AtomicInteger lastRentalNumber = new AtomicInteger();
+    private static boolean loaded = false;
+
+    // Other terminals may write to the same gui/ directory; their changes are picked up
+    // from the shared change journal every POLL_INTERVAL_MS
+    private static final SharedDataDirectory sharedDirectory = SharedDataDirectory.getInstance();
+    private static final long POLL_INTERVAL_MS = 1000;
+    private static final long SNAPSHOT_INTERVAL_MINUTES = 5;
+
+    // SKUs listed in -Drental.hotSkus (costume IDs, comma-separated) are booked through
+    // lock-free per-day counters instead of the SKU lock
+    private static final Map<String, HotSkuOccupancy> hotSkus = new ConcurrentHashMap<>();
+    private static final Set<String> hotCostumeIds = ConcurrentHashMap.newKeySet();
+    private static final int HOT_SKU_PAST_DAYS = 60;
+    private static final int HOT_SKU_HORIZON_DAYS = 800;
+
+    // RESERVED/ACTIVE rentals indexed by the day their status changes next
+    private static final RentalStatusScheduler statusScheduler = new RentalStatusScheduler(RentalClock.today());
+
+    private static final RentalArchive archive = RentalArchive.getInstance();
+
+    // Duration and time of the last rentals.csv write (see RentalMonitor)
+    private static volatile long lastSaveNanos = -1;
+    private static volatile LocalDateTime lastSaveTime;
+
+    // Timings of the main operations (see MetricsRegistry)
+    private static final LatencyHistogram RESERVE_TIME = MetricsRegistry.timer("RentalService.reserveRental");
+    private static final LatencyHistogram RETURN_TIME = MetricsRegistry.timer("RentalService.returnRental");
+    private static final LatencyHistogram CANCEL_TIME = MetricsRegistry.timer("RentalService.cancelRental");
+    private static final LatencyHistogram AVAILABILITY_TIME = MetricsRegistry.timer("RentalService.isStockAvailableForPeriod");
+    private static final LatencyHistogram STATUS_UPDATE_TIME = MetricsRegistry.timer("RentalService.updateAllRentalStatuses");
+    private static final LatencyHistogram ARCHIVE_TIME = MetricsRegistry.timer("RentalService.archiveCompletedRentals");
+    private static final LatencyHistogram SAVE_RENTALS_TIME = MetricsRegistry.timer("RentalService.saveRentals");
+    private static final LatencyHistogram SAVE_SNAPSHOT_TIME = MetricsRegistry.timer("RentalService.saveSnapshot");
+
+    private final SkuLockStripes skuLocks = SkuLockStripes.getInstance();
+    private final InventoryState inventory = InventoryState.getInstance();
     
     public RentalService() {
-        this.allRentals = new ArrayList<>();
-        this.costumeManager = new CostumeDataManager();
-        loadRentals();
+        loadRentalsOnce();
     }
     
+    private static synchronized void loadRentalsOnce() {
+        if (!loaded) {
+            try {
+                sharedDirectory.withWriteLock(() -> {
+                    loadRentals();
+                    moveCompletedRentalsToArchive();
+                    sharedDirectory.markUpToDate();
+                    return null;
+                });
+            } catch (IOException e) {
+                System.err.println("Error locking data directory: " + e.getMessage());
+            }
+            InventoryState.getInstance().initialize(new CostumeDataManager().loadCostumes(), allRentals);
+            registerHotSkus(System.getProperty("rental.hotSkus", ""));
+            InventoryState.getInstance().setCatalogListener(RentalService::updateHotSkuCapacities);
+            registerGauges();
+            RentalMonitor.register();
+            sharedDirectory.setChangeListener(new RemoteChangeListener());
+            startChangePolling();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                saveSnapshot();
+                AtomicFileWriter.flush();
+                AsyncLogger.flush();
+            }, "data-snapshot"));
+            loaded = true;
+        }
+    }
+
+    private static void registerGauges() {
+        MetricsRegistry metrics = MetricsRegistry.getInstance();
+        metrics.gauge("rentals.workingSet", allRentals::size);
+        metrics.gauge("rentals.pendingBookings", pendingBookings::size);
+        metrics.gauge("catalog.size", () -> InventoryState.getInstance().current().getCostumes().size());
+        metrics.gauge("journal.length", sharedDirectory::getJournalLength);
+    }
+
+    // Read by RentalMonitor
+    static int getWorkingSetSize() { return allRentals.size(); }
+    static int getPendingBookingCount() { return pendingBookings.size(); }
+    static long getLastSaveNanos() { return lastSaveNanos; }
+    static LocalDateTime getLastSaveTime() { return lastSaveTime; }
+
+    private static void startChangePolling() {
+        ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "data-directory-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(() -> {
+            try {
+                sharedDirectory.pollForChanges();
+            } catch (Exception e) {
+                System.err.println("Error reading changes from other terminals: " + e.getMessage());
+            }
+        }, POLL_INTERVAL_MS, POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        poller.execute(archive::loadSummaries);
+        poller.scheduleWithFixedDelay(RentalService::saveSnapshot,
+                                      SNAPSHOT_INTERVAL_MINUTES, SNAPSHOT_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        scheduleMidnightStatusUpdate(poller);
+    }
+
+    // Write gui/data.snapshot so the next start can skip parsing the CSV files
+    public static void saveSnapshot() {
+        SAVE_SNAPSHOT_TIME.time(RentalService::writeSnapshot);
+    }
+
+    private static void writeSnapshot() {
+        try {
+            sharedDirectory.withWriteLock(() -> {
+                DataSnapshot snapshot = DataSnapshot.getInstance();
+                if (snapshot.isUpToDate()) return null;
+                List<Rental> committed = new ArrayList<>();
+                for (Rental rental : allRentals) {
+                    if (!pendingBookings.contains(rental)) {
+                        committed.add(rental);
+                    }
+                }
+                snapshot.save(new CostumeDataManager().loadCostumes(), committed, lastRentalNumber.get(),
+                              FileIO.getInstance().getAllMembers());
+                AsyncLogger.info("Saved data snapshot with {} rentals", committed.size());
+                return null;
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error writing data snapshot: " + e.getMessage());
+        }
+    }
+
+    // Roll statuses over just after midnight, even if no screen asks for them
+    private static void scheduleMidnightStatusUpdate(ScheduledExecutorService executor) {
+        LocalDateTime now = RentalClock.now();
+        LocalDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        long delay = Duration.between(now, nextMidnight).toMillis() + 1000;
+        executor.schedule(() -> {
+            try {
+                RentalService service = new RentalService();
+                service.updateAllRentalStatuses();
+                service.archiveCompletedRentals();
+            } catch (Exception e) {
+                System.err.println("Error updating rental statuses: " + e.getMessage());
+            }
+            scheduleMidnightStatusUpdate(executor);
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // Applies rentals.csv changes journaled by other instances (runs with the directory lock held)
+    private static class RemoteChangeListener implements SharedDataDirectory.ChangeListener {
+        @Override
+        public void onChanges(List<String> entries) {
+            List<Rental> archived = new ArrayList<>();
+            for (String entry : entries) {
+                if (entry.startsWith("A,")) {
+                    Rental rental = rentalsById.get(entry.substring(2));
+                    if (rental != null && RentalArchive.isCompleted(rental)) {
+                        archived.add(rental);
+                    }
+                } else if (entry.startsWith("R,")) {
+                    try {
+                        applyRemoteRental(Rental.fromCsvString(entry.substring(2)));
+                    } catch (Exception e) {
+                        System.err.println("Error applying change from other terminal: " + entry + " - " + e.getMessage());
+                    }
+                } else if (entry.startsWith("C,")) {
+                    InventoryState.getInstance().publishCatalog(new CostumeDataManager().loadCostumes());
+                }
+            }
+            if (!archived.isEmpty()) {
+                removeFromWorkingSet(archived);
+                publishRemoved(archived);
+            }
+        }
+
+        @Override
+        public void onFullReload() {
+            reloadAllRentals();
+        }
+    }
+
+    private static void applyRemoteRental(Rental remote) {
+        remote.updateStatus();
+        lastRentalNumber.accumulateAndGet(parseRentalNumber(remote.getRentalId()), Math::max);
+        InventoryState inventory = InventoryState.getInstance();
+
+        Rental local = rentalsById.get(remote.getRentalId());
+        if (local != null && pendingBookings.contains(local)) {
+            // Another terminal committed the same ID first; our uncommitted booking takes a new one
+            rentalsById.remove(local.getRentalId());
+            local.setRentalId(String.format("R%03d", lastRentalNumber.incrementAndGet()));
+            rentalsById.put(local.getRentalId(), local);
+            local = null;
+        }
+
+        if (local == null) {
+            rentalsById.put(remote.getRentalId(), remote);
+            statusScheduler.schedule(remote);
+            inventory.publishBooking(remote);
+            HotSkuOccupancy hotSku = hotSkus.get(skuKey(remote.getCostumeId(), remote.getSize()));
+            if (hotSku != null && occupiesStock(remote)) {
+                hotSku.addExisting(remote.getRentalDate(), remote.getReturnDate());
+            }
+            return;
+        }
+
+        ReentrantLock lock = SkuLockStripes.getInstance().lockFor(local.getCostumeId(), local.getSize());
+        lock.lock();
+        try {
+            Rental.RentalStatus oldStatus = local.getStatus();
+            if (occupiesStock(local) && !occupiesStock(remote)) {
+                HotSkuOccupancy hotSku = hotSkus.get(skuKey(local.getCostumeId(), local.getSize()));
+                if (hotSku != null) {
+                    hotSku.release(local.getRentalDate(), local.getReturnDate());
+                }
+            }
+            local.setActualReturnDate(remote.getActualReturnDate());
+            local.setTotalCost(remote.getTotalCost());
+            local.setLateFee(remote.getLateFee());
+            local.setStatus(remote.getStatus());
+            if (oldStatus != local.getStatus()) {
+                statusScheduler.schedule(local);
+                inventory.publishStatusChange(local, oldStatus);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // The journal no longer covers what we missed: re-read rentals.csv, keeping our uncommitted bookings
+    private static void reloadAllRentals() {
+        List<Rental> pending = new ArrayList<>(pendingBookings);
+        rentalsById.clear();
+        statusScheduler.clear();
+        loadRentals();
+        for (Rental booking : pending) {
+            if (rentalsById.containsKey(booking.getRentalId())) {
+                booking.setRentalId(String.format("R%03d", lastRentalNumber.incrementAndGet()));
+            }
+            rentalsById.put(booking.getRentalId(), booking);
+            statusScheduler.schedule(booking);
+        }
+        InventoryState.getInstance().reload(new CostumeDataManager().loadCostumes(), allRentals);
+        hotSkus.clear();
+        registerHotSkus(System.getProperty("rental.hotSkus", ""));
+        AsyncLogger.info("Reloaded {} rentals after changes from other terminals", allRentals.size());
+    }
+
+    private static void registerHotSkus(String costumeIds) {
+        if (costumeIds.trim().isEmpty()) return;
+        hotCostumeIds.clear();
+        hotCostumeIds.addAll(Arrays.asList(costumeIds.trim().split("\\s*,\\s*")));
+        for (Costume costume : new CostumeDataManager().loadCostumes()) {
+            if (!hotCostumeIds.contains(costume.getCostumeId())) continue;
+            for (String size : costume.getAvailableSizes()) {
+                registerHotSku(costume, size);
+            }
+            AsyncLogger.info("Using lock-free availability counters for hot costume {}", costume.getCostumeId());
+        }
+    }
+
+    // Counters seeded with the bookings of the working set; at runtime the caller holds the SKU lock
+    private static void registerHotSku(Costume costume, String size) {
+        LocalDate firstDay = RentalClock.today().minusDays(HOT_SKU_PAST_DAYS);
+        HotSkuOccupancy occupancy = new HotSkuOccupancy(costume.getStockForSize(size), firstDay, HOT_SKU_HORIZON_DAYS);
+        int costumeCode = IdDictionary.COSTUMES.find(costume.getCostumeId());
+        int sizeCode = IdDictionary.SIZES.find(size);
+        for (Rental rental : allRentals) {
+            if (rental.getCostumeCode() == costumeCode && rental.getSizeCode() == sizeCode
+                    && occupiesStock(rental)) {
+                occupancy.addExisting(rental.getRentalDate(), rental.getReturnDate());
+            }
+        }
+        hotSkus.put(skuKey(costume.getCostumeId(), size), occupancy);
+    }
+
+    // Runs before every new catalog is published (local edits and other terminals' "C"
+    // entries): the CAS counters take the new stock, so lowering it stops overbooking at
+    // once. Sizes added to a hot costume get counters; sizes gone from the catalog get none.
+    private static void updateHotSkuCapacities(List<Costume> catalog) {
+        if (hotCostumeIds.isEmpty()) return;
+        Set<String> current = new HashSet<>();
+        for (Costume costume : catalog) {
+            if (!hotCostumeIds.contains(costume.getCostumeId())) continue;
+            for (String size : costume.getAvailableSizes()) {
+                String key = skuKey(costume.getCostumeId(), size);
+                current.add(key);
+                HotSkuOccupancy occupancy = hotSkus.get(key);
+                if (occupancy != null) {
+                    occupancy.setCapacity(costume.getStockForSize(size));
+                    continue;
+                }
+                ReentrantLock lock = SkuLockStripes.getInstance().lockFor(costume.getCostumeId(), size);
+                lock.lock();
+                try {
+                    registerHotSku(costume, size);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        for (Map.Entry<String, HotSkuOccupancy> entry : hotSkus.entrySet()) {
+            if (!current.contains(entry.getKey())) {
+                entry.getValue().setCapacity(0);
+            }
+        }
+    }
+
+    // The hot-SKU windows keep HOT_SKU_PAST_DAYS of history; the days that drop out are
+    // reused at the far end, so the bookable range moves forward with the calendar
+    private void advanceHotSkuWindows(LocalDate today) {
+        LocalDate firstDay = today.minusDays(HOT_SKU_PAST_DAYS);
+        for (Map.Entry<String, HotSkuOccupancy> entry : hotSkus.entrySet()) {
+            HotSkuOccupancy occupancy = entry.getValue();
+            if (!occupancy.getFirstDay().isBefore(firstDay)) continue;
+            String[] sku = entry.getKey().split("\\|", 2);
+            ReentrantLock lock = skuLocks.lockFor(sku[0], sku[1]);
+            lock.lock();
+            try {
+                occupancy.advanceTo(firstDay);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static String skuKey(String costumeId, String size) {
+        return costumeId + "|" + size;
+    }
+
+    private static boolean occupiesStock(Rental rental) {
+        return rental.getStatus() != Rental.RentalStatus.CANCELLED &&
+               rental.getStatus() != Rental.RentalStatus.RETURNED;
+    }
+
+    private static void loadRentals() {
+        DataEvents.RentalsLoad event = new DataEvents.RentalsLoad();
+        event.begin();
+        Path source = readRentals();
+        if (source != null && event.shouldCommit()) {
+            event.file = DataEvents.fileName(source);
+            event.records = allRentals.size();
+            event.bytes = DataEvents.sizeOf(source);
+            event.commit();
+        }
+    }
+
+    // Returns the file the rentals came from, or null if there was nothing to load
+    private static Path readRentals() {
+        DataSnapshot.RentalSection snapshot = DataSnapshot.getInstance().loadRentals();
+        if (snapshot != null) {
+            for (Rental rental : snapshot.rentals) {
+                rental.updateStatus();
+            }
+            lastRentalNumber.accumulateAndGet(snapshot.highestRentalNumber, Math::max);
+            addLoadedRentals(snapshot.rentals);
+            AsyncLogger.info("Loaded {} rentals from data snapshot", allRentals.size());
+            return DataSnapshot.SNAPSHOT_PATH;
+        }
 
-    private void loadRentals() {
         File file = new File(RENTAL_FILE_PATH);
         if (!file.exists()) {
-            System.out.println("Rentals file not found. Creating new file: " + RENTAL_FILE_PATH);
+            AsyncLogger.info("Rentals file not found. Creating new file: {}", RENTAL_FILE_PATH);
             createEmptyRentalFile();
-            return;
+            return null;
         }
         
         try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
             
+            List<Rental> loadedRentals = new ArrayList<>();
             String line;
             while ((line = reader.readLine()) != null) {
+                if (line.startsWith(HIGHEST_ID_HEADER)) {
+                    lastRentalNumber.accumulateAndGet(parseRentalNumber(line.substring(HIGHEST_ID_HEADER.length()).trim()), Math::max);
+                    continue;
+                }
                 if (line.trim().isEmpty() || line.startsWith("#")) {
                     continue;
                 }
@@ -39,134 +421,411 @@ public class RentalService {
                 try {
                     Rental rental = Rental.fromCsvString(line);
                     rental.updateStatus(); 
-                    allRentals.add(rental);
+                    loadedRentals.add(rental);
+                    lastRentalNumber.accumulateAndGet(parseRentalNumber(rental.getRentalId()), Math::max);
                 } catch (Exception e) {
                     System.err.println("Error parsing rental line: " + line + " - " + e.getMessage());
                 }
             }
-            
-            System.out.println("Loaded " + allRentals.size() + " rentals");
-            
+            addLoadedRentals(loadedRentals);
+            MetricsRegistry.getInstance().recordFileRead(file.toPath(), file.length());
+
+            AsyncLogger.info("Loaded {} rentals", allRentals.size());
+            return file.toPath();
         } catch (IOException e) {
             System.err.println("Error reading rental file: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static void addLoadedRentals(List<Rental> loadedRentals) {
+        for (Rental rental : loadedRentals) {
+            rentalsById.put(rental.getRentalId(), rental);
+            statusScheduler.schedule(rental);
         }
     }
     
-    private void createEmptyRentalFile() {
+    private static void createEmptyRentalFile() {
         try {
-            File file = new File(RENTAL_FILE_PATH);
-            file.getParentFile().mkdirs(); 
-            
-            try (PrintWriter writer = new PrintWriter(
-                    new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
-                writer.println("# Rental Management System - Rental Records");
-                writer.println("# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status");
-            }
-            
+            List<String> header = new ArrayList<>();
+            header.add("# Rental Management System - Rental Records");
+            header.add("# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status");
+            AtomicFileWriter.writeLines(Paths.get(RENTAL_FILE_PATH), header);
         } catch (IOException e) {
             System.err.println("Error creating rental file: " + e.getMessage());
         }
     }
     
     public void saveRentals() {
-        try (PrintWriter writer = new PrintWriter(
-                new OutputStreamWriter(new FileOutputStream(RENTAL_FILE_PATH), StandardCharsets.UTF_8))) {
-            
-            writer.println("# Rental Management System - Rental Records");
-            writer.println("# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status");
-            
-            for (Rental rental : allRentals) {
-                writer.println(rental.toCsvString());
-            }
-            
-            System.out.println("Saved " + allRentals.size() + " rentals to file");
-            
+        try {
+            sharedDirectory.withWriteLock(() -> {
+                writeRentalFile();
+                return null;
+            });
+        } catch (IOException e) {
+            System.err.println("Error saving rental file: " + e.getMessage());
+            throw new RuntimeException("Failed to save rental data", e);
+        }
+    }
+
+    // Write rentals.csv and journal the changed rentals for the other terminals.
+    // Runs under the data directory lock, after changes from other terminals were applied.
+    private void commitChanges(List<Rental> changed) {
+        try {
+            sharedDirectory.withWriteLock(() -> {
+                writeRentalFile();
+                sharedDirectory.appendChanges("R", toCsvLines(changed));
+                return null;
+            });
+        } catch (IOException e) {
+            System.err.println("Error saving rental file: " + e.getMessage());
+            throw new RuntimeException("Failed to save rental data", e);
+        }
+    }
+
+    // Commit a new booking. Another terminal may have booked the same SKU since our check;
+    // if its bookings now overfill a day, ours is withdrawn and false is returned.
+    private boolean commitBooking(Rental newRental) {
+        try {
+            return sharedDirectory.withWriteLock(() -> {
+                pendingBookings.remove(newRental);
+                if (!fitsStock(newRental)) {
+                    AsyncLogger.warn("Costume {} size {} was booked by another terminal in the meantime",
+                                     newRental.getCostumeId(), newRental.getSize());
+                    discardBooking(newRental);
+                    return false;
+                }
+                writeRentalFile();
+                sharedDirectory.appendChanges("R", toCsvLines(List.of(newRental)));
+                return true;
+            });
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error creating rental: " + e.getMessage());
+            pendingBookings.remove(newRental);
+            discardBooking(newRental);
+            return false;
+        }
+    }
+
+    // Commit a return or cancellation, unless another terminal changed the rental meanwhile
+    private boolean commitStatusChange(Rental rental, Rental.RentalStatus expectedStatus) {
+        try {
+            return sharedDirectory.withWriteLock(() -> {
+                if (rental.getStatus() != expectedStatus) {
+                    AsyncLogger.warn("Rental {} was changed by another terminal: {}", rental.getRentalId(), rental.getStatus());
+                    return false;
+                }
+                writeRentalFile();
+                sharedDirectory.appendChanges("R", toCsvLines(List.of(rental)));
+                return true;
+            });
         } catch (IOException e) {
             System.err.println("Error saving rental file: " + e.getMessage());
             throw new RuntimeException("Failed to save rental data", e);
         }
     }
+
+    private boolean fitsStock(Rental rental) {
+        InventorySnapshot snapshot = inventory.current();
+        int maxStock = snapshot.getStock(rental.getCostumeId(), rental.getSize());
+        for (LocalDate date = rental.getRentalDate(); !date.isAfter(rental.getReturnDate()); date = date.plusDays(1)) {
+            if (snapshot.getReservedCount(rental.getCostumeId(), rental.getSize(), date) > maxStock) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void discardBooking(Rental rental) {
+        ReentrantLock lock = skuLocks.lockFor(rental.getCostumeId(), rental.getSize());
+        lock.lock();
+        try {
+            if (rentalsById.remove(rental.getRentalId(), rental)) {
+                inventory.retractBooking(rental);
+                HotSkuOccupancy hotSku = hotSkus.get(skuKey(rental.getCostumeId(), rental.getSize()));
+                if (hotSku != null) {
+                    hotSku.release(rental.getRentalDate(), rental.getReturnDate());
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static List<String> toCsvLines(List<Rental> rentals) {
+        List<String> lines = new ArrayList<>();
+        for (Rental rental : rentals) {
+            lines.add(rental.toCsvString());
+        }
+        return lines;
+    }
+
+    private static void writeRentalFile() throws IOException {
+        DataEvents.RentalsSave event = new DataEvents.RentalsSave();
+        event.begin();
+        List<String> lines = new ArrayList<>();
+        lines.add("# Rental Management System - Rental Records");
+        lines.add("# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status");
+        lines.add(HIGHEST_ID_HEADER + String.format("R%03d", lastRentalNumber.get()));
+        for (Rental rental : allRentals) {
+            if (!pendingBookings.contains(rental)) {
+                lines.add(rental.toCsvString());
+            }
+        }
+
+        Path path = Paths.get(RENTAL_FILE_PATH);
+        long start = System.nanoTime();
+        AtomicFileWriter.writeLines(path, lines);
+        lastSaveNanos = System.nanoTime() - start;
+        SAVE_RENTALS_TIME.recordNanos(lastSaveNanos);
+        lastSaveTime = LocalDateTime.now();
+        AsyncLogger.info("Saved {} rentals to file", lines.size() - 3);
+        if (event.shouldCommit()) {
+            event.file = DataEvents.fileName(path);
+            event.records = lines.size() - 3;
+            event.bytes = DataEvents.sizeOf(path);
+            event.commit();
+        }
+    }
+
+    // Move completed rentals out of the working set into the monthly archive
+    public void archiveCompletedRentals() {
+        ARCHIVE_TIME.time(this::archiveCompleted);
+    }
+
+    private void archiveCompleted() {
+        try {
+            List<Rental> archived = sharedDirectory.withWriteLock(RentalService::moveCompletedRentalsToArchive);
+            publishRemoved(archived);
+        } catch (IOException e) {
+            System.err.println("Error archiving rentals: " + e.getMessage());
+        }
+    }
+
+    // Runs under the data directory lock. The archive is written before rentals.csv, so a
+    // crash in between leaves the rentals in both places and the next run archives them again.
+    private static List<Rental> moveCompletedRentalsToArchive() throws IOException {
+        List<Rental> completed = new ArrayList<>();
+        for (Rental rental : allRentals) {
+            if (RentalArchive.isCompleted(rental) && !pendingBookings.contains(rental)) {
+                completed.add(rental);
+            }
+        }
+        if (completed.isEmpty()) return completed;
+
+        archive.archive(completed);
+        removeFromWorkingSet(completed);
+        writeRentalFile();
+        List<String> ids = new ArrayList<>();
+        for (Rental rental : completed) {
+            ids.add(rental.getRentalId());
+        }
+        sharedDirectory.appendChanges("A", ids);
+        AsyncLogger.info("Archived {} completed rentals", completed.size());
+        return completed;
+    }
+
+    private static void removeFromWorkingSet(List<Rental> rentals) {
+        for (Rental rental : rentals) {
+            rentalsById.remove(rental.getRentalId(), rental);
+        }
+    }
+
+    // Completed rentals hold no stock, so only the status counts of the working set change
+    private static void publishRemoved(List<Rental> rentals) {
+        if (rentals.isEmpty()) return;
+        int[] statusDelta = new int[Rental.RentalStatus.values().length];
+        for (Rental rental : rentals) {
+            statusDelta[rental.getStatus().ordinal()]--;
+        }
+        InventoryState.getInstance().publishStatusCounts(statusDelta);
+    }
     
     public String generateNewRentalId() {
-        int maxId = 0;
-        for (Rental rental : allRentals) {
-            String id = rental.getRentalId();
-            if (id.startsWith("R") && id.length() > 1) {
-                try {
-                    int num = Integer.parseInt(id.substring(1));
-                    maxId = Math.max(maxId, num);
-                } catch (NumberFormatException e) {
-                }
+        return String.format("R%03d", lastRentalNumber.incrementAndGet());
+    }
+
+    static int parseRentalNumber(String id) {
+        if (id.startsWith("R") && id.length() > 1) {
+            try {
+                return Integer.parseInt(id.substring(1));
+            } catch (NumberFormatException e) {
             }
         }
-        return String.format("R%03d", maxId + 1);
+        return 0;
     }
     
 
     public boolean createRental(String memberId, String costumeId, String size, LocalDate rentalDate, 
                                LocalDate returnDate, double totalCost) {
+        return reserveRental(memberId, costumeId, size, rentalDate, returnDate, totalCost) != null;
+    }
+
+    // Atomic reserve: the availability check and the insert run under the SKU's lock,
+    // so two terminals can never both take the last unit. Returns null if not available.
+    public Rental reserveRental(String memberId, String costumeId, String size, LocalDate rentalDate,
+                                LocalDate returnDate, double totalCost) {
+        return RESERVE_TIME.time(() -> reserve(memberId, costumeId, size, rentalDate, returnDate, totalCost));
+    }
+
+    private Rental reserve(String memberId, String costumeId, String size, LocalDate rentalDate,
+                           LocalDate returnDate, double totalCost) {
+        HotSkuOccupancy hotSku = hotSkus.get(skuKey(costumeId, size));
+        if (hotSku != null) {
+            return reserveHotRental(hotSku, memberId, costumeId, size, rentalDate, returnDate, totalCost);
+        }
+
+        Rental newRental = null;
+        ReentrantLock lock = skuLocks.lockFor(costumeId, size);
+        lock.lock();
         try {
             if (!isCostumeAvailable(costumeId, size)) {
-                System.err.println("Costume " + costumeId + " size " + size + " is not available for rental");
-                return false;
+                AsyncLogger.warn("Costume {} size {} is not available for rental", costumeId, size);
+                return null;
+            }
+            if (!isStockAvailableForPeriod(costumeId, size, rentalDate, returnDate)) {
+                AsyncLogger.warn("Costume {} size {} is fully booked between {} and {}", costumeId, size, rentalDate, returnDate);
+                return null;
             }
             
             String rentalId = generateNewRentalId();
             long rentalDays = calculateRentalDays(rentalDate, returnDate);
             double dailyRate = (rentalDays > 0) ? totalCost / rentalDays : totalCost;
             
-            Rental newRental = new Rental(rentalId, memberId, costumeId, size, rentalDate, returnDate, totalCost, dailyRate);
-            allRentals.add(newRental);
-            
-            updateCostumeStock(costumeId, size, -1);
-            saveRentals();
-            
-            System.out.println("Created new rental: " + newRental);
-            return true;
-            
+            newRental = new Rental(rentalId, memberId, costumeId, size, rentalDate, returnDate, totalCost, dailyRate);
+            insertBooking(newRental);
         } catch (Exception e) {
             System.err.println("Error creating rental: " + e.getMessage());
-            return false;
+            if (newRental != null) {
+                pendingBookings.remove(newRental);
+                rentalsById.remove(newRental.getRentalId(), newRental);
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+
+        if (!commitBooking(newRental)) {
+            return null;
+        }
+        updateCostumeStock(costumeId, size, -1);
+
+        AsyncLogger.info("Created rental {}: {} size {}, {} to {}", newRental.getRentalId(), costumeId, size,
+                         rentalDate, returnDate);
+        return newRental;
+    }
+
+    private void insertBooking(Rental newRental) {
+        pendingBookings.add(newRental);
+        rentalsById.put(newRental.getRentalId(), newRental);
+        statusScheduler.schedule(newRental);
+        inventory.publishBooking(newRental);
+    }
+
+    // Hot SKUs claim their days on the CAS counters; the claim itself is the availability check
+    private Rental reserveHotRental(HotSkuOccupancy hotSku, String memberId, String costumeId, String size,
+                                    LocalDate rentalDate, LocalDate returnDate, double totalCost) {
+        if (!hotSku.covers(rentalDate, returnDate)) {
+            AsyncLogger.warn("Booking for hot costume {} is outside the bookable range {} to {}",
+                             costumeId, hotSku.getFirstDay(), hotSku.getLastDay());
+            return null;
         }
+        if (!hotSku.tryClaim(rentalDate, returnDate)) {
+            AsyncLogger.warn("Costume {} size {} is fully booked between {} and {}", costumeId, size, rentalDate, returnDate);
+            return null;
+        }
+
+        long rentalDays = calculateRentalDays(rentalDate, returnDate);
+        double dailyRate = (rentalDays > 0) ? totalCost / rentalDays : totalCost;
+        Rental newRental = new Rental(generateNewRentalId(), memberId, costumeId, size, rentalDate, returnDate, totalCost, dailyRate);
+        insertBooking(newRental);
+
+        // discardBooking releases the claimed days if the commit fails
+        if (!commitBooking(newRental)) {
+            return null;
+        }
+        updateCostumeStock(costumeId, size, -1);
+
+        AsyncLogger.info("Created rental {}: {} size {}, {} to {}", newRental.getRentalId(), costumeId, size,
+                         rentalDate, returnDate);
+        return newRental;
+    }
+
+    // Checks against the latest published inventory snapshot
+    public boolean isStockAvailableForPeriod(String costumeId, String size, LocalDate startDate, LocalDate endDate) {
+        DataEvents.AvailabilityCheck event = new DataEvents.AvailabilityCheck();
+        event.begin();
+        long start = System.nanoTime();
+        boolean available = checkStockForPeriod(costumeId, size, startDate, endDate);
+        AVAILABILITY_TIME.record(start);
+        if (event.shouldCommit()) {
+            event.file = "";
+            event.costumeId = costumeId;
+            event.size = size;
+            event.records = (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+            event.available = available;
+            event.commit();
+        }
+        return available;
     }
     
-    public boolean isCostumeAvailable(String costumeId) {
-        List<Costume> costumes = costumeManager.loadCostumes();
-        for (Costume costume : costumes) {
-            if (costume.getCostumeId().equals(costumeId)) {
-                return costume.getTotalStock() > 0;
+    private boolean checkStockForPeriod(String costumeId, String size, LocalDate startDate, LocalDate endDate) {
+        HotSkuOccupancy hotSku = hotSkus.get(skuKey(costumeId, size));
+        if (hotSku != null && hotSku.covers(startDate, endDate)) {
+            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+                if (hotSku.getAvailable(date) <= 0) return false;
             }
+            return true;
         }
-        return false;
+
+        return inventory.current().isStockAvailableForPeriod(costumeId, size, startDate, endDate);
+    }
+    
+    public boolean isCostumeAvailable(String costumeId) {
+        Costume costume = inventory.current().getCostume(costumeId);
+        return costume != null && costume.getTotalStock() > 0;
     }
 
     public boolean isCostumeAvailable(String costumeId, String size) {
-        List<Costume> costumes = costumeManager.loadCostumes();
-        for (Costume costume : costumes) {
-            if (costume.getCostumeId().equals(costumeId)) {
-                return costume.hasSize(size);
-            }
-        }
-        return false;
+        Costume costume = inventory.current().getCostume(costumeId);
+        return costume != null && costume.hasSize(size);
     }
     
     private void updateCostumeStock(String costumeId, int change) {
-        System.out.println("Stock update for costume " + costumeId + ": " + change);
+        AsyncLogger.debug("Stock update for costume {}: {}", costumeId, change);
     }
    
     private void updateCostumeStock(String costumeId, String size, int change) {
-        System.out.println("Stock update for costume " + costumeId + " size " + size + ": " + change);
+        AsyncLogger.debug("Stock update for costume {} size {}: {}", costumeId, size, change);
     }
     
+    // Includes archived rentals (the member's full history)
     public List<Rental> getRentalsByMemberId(String memberId) {
-        return allRentals.stream()
-                .filter(rental -> rental.getMemberId().equals(memberId))
+        int memberCode = IdDictionary.MEMBERS.find(memberId);
+        List<Rental> rentals = allRentals.stream()
+                .filter(rental -> rental.getMemberCode() == memberCode)
                 .collect(Collectors.toList());
+        return withArchived(rentals, archive.getRentalsByMemberId(memberId));
+    }
+
+    // Older archived rentals first; a rental still in the working set wins over its archived copy
+    private static List<Rental> withArchived(List<Rental> live, List<Rental> archived) {
+        if (archived.isEmpty()) return live;
+        List<Rental> merged = new ArrayList<>();
+        for (Rental rental : archived) {
+            if (!rentalsById.containsKey(rental.getRentalId())) {
+                merged.add(rental);
+            }
+        }
+        merged.addAll(live);
+        merged.sort(Comparator.comparingInt(rental -> parseRentalNumber(rental.getRentalId())));
+        return merged;
     }
     
     public List<Rental> getActiveRentalsByMemberId(String memberId) {
+        int memberCode = IdDictionary.MEMBERS.find(memberId);
         return allRentals.stream()
-                .filter(rental -> rental.getMemberId().equals(memberId))
+                .filter(rental -> rental.getMemberCode() == memberCode)
                 .filter(rental -> rental.getStatus() == Rental.RentalStatus.RESERVED ||
                                 rental.getStatus() == Rental.RentalStatus.ACTIVE || 
                                 rental.getStatus() == Rental.RentalStatus.OVERDUE)
@@ -174,8 +833,9 @@ public class RentalService {
     }
     
     public List<Rental> getActiveRentalsByCostumeId(String costumeId) {
+        int costumeCode = IdDictionary.COSTUMES.find(costumeId);
         return allRentals.stream()
-                .filter(rental -> rental.getCostumeId().equals(costumeId))
+                .filter(rental -> rental.getCostumeCode() == costumeCode)
                 .filter(rental -> rental.getStatus() == Rental.RentalStatus.ACTIVE || 
                                 rental.getStatus() == Rental.RentalStatus.OVERDUE)
                 .collect(Collectors.toList());
@@ -188,69 +848,172 @@ public class RentalService {
     }
     
     public boolean returnRental(String rentalId, LocalDate actualReturnDate) {
-        for (Rental rental : allRentals) {
-            if (rental.getRentalId().equals(rentalId)) {
-                if (rental.getStatus() == Rental.RentalStatus.RETURNED) {
-                    System.err.println("Rental " + rentalId + " is already returned");
-                    return false;
-                }
-                
-                rental.setActualReturnDate(actualReturnDate);
-                rental.setStatus(Rental.RentalStatus.RETURNED);
-                
-                if (rental.getOverdueDays() > 0) {
-                    double lateFee = rental.calculateLateFee();
-                    rental.setLateFee(lateFee);
-                }
-                
-                updateCostumeStock(rental.getCostumeId(), rental.getSize(), 1);
-                saveRentals();
-                
-                System.out.println("Returned rental: " + rental);
-                return true;
+        return RETURN_TIME.time(() -> processReturn(rentalId, actualReturnDate));
+    }
+
+    private boolean processReturn(String rentalId, LocalDate actualReturnDate) {
+        Rental rental = rentalsById.get(rentalId);
+        if (rental == null) {
+            AsyncLogger.warn("Rental not found: {}", rentalId);
+            return false;
+        }
+        
+        Rental.RentalStatus oldStatus;
+        LocalDate oldActualReturnDate;
+        double oldLateFee;
+        ReentrantLock lock = skuLocks.lockFor(rental.getCostumeId(), rental.getSize());
+        lock.lock();
+        try {
+            if (rental.getStatus() == Rental.RentalStatus.RETURNED) {
+                AsyncLogger.warn("Rental {} is already returned", rentalId);
+                return false;
             }
+            
+            oldStatus = rental.getStatus();
+            oldActualReturnDate = rental.getActualReturnDate();
+            oldLateFee = rental.getLateFee();
+            releaseHotSku(rental);
+            rental.setActualReturnDate(actualReturnDate);
+            rental.setStatus(Rental.RentalStatus.RETURNED);
+            inventory.publishStatusChange(rental, oldStatus);
+            
+            if (rental.getOverdueDays() > 0) {
+                double lateFee = rental.calculateLateFee();
+                rental.setLateFee(lateFee);
+            }
+        } finally {
+            lock.unlock();
         }
-        System.err.println("Rental not found: " + rentalId);
-        return false;
+        
+        if (!commitOrRestore(rental, Rental.RentalStatus.RETURNED, oldStatus, oldActualReturnDate, oldLateFee)) {
+            return false;
+        }
+        updateCostumeStock(rental.getCostumeId(), rental.getSize(), 1);
+        
+        AsyncLogger.info("Returned rental {} (late fee {}, total {})", rental.getRentalId(), rental.getLateFee(), rental.getTotalPayment());
+        return true;
     }
     
     public boolean cancelRental(String rentalId) {
-        for (Rental rental : allRentals) {
-            if (rental.getRentalId().equals(rentalId)) {
-                if (rental.getStatus() != Rental.RentalStatus.RESERVED) {
-                    System.err.println("Cannot cancel rental " + rentalId + " with status: " + rental.getStatus());
-                    return false;
-                }
-                
-                rental.setStatus(Rental.RentalStatus.CANCELLED);
-                
-                updateCostumeStock(rental.getCostumeId(), rental.getSize(), 1);
-                saveRentals();
-                
-                System.out.println("Cancelled rental: " + rental);
-                return true;
+        return CANCEL_TIME.time(() -> cancel(rentalId));
+    }
+
+    private boolean cancel(String rentalId) {
+        Rental rental = rentalsById.get(rentalId);
+        if (rental == null) {
+            AsyncLogger.warn("Rental not found for cancellation: {}", rentalId);
+            return false;
+        }
+        
+        ReentrantLock lock = skuLocks.lockFor(rental.getCostumeId(), rental.getSize());
+        lock.lock();
+        try {
+            if (rental.getStatus() != Rental.RentalStatus.RESERVED) {
+                AsyncLogger.warn("Cannot cancel rental {} with status: {}", rentalId, rental.getStatus());
+                return false;
             }
+            
+            releaseHotSku(rental);
+            rental.setStatus(Rental.RentalStatus.CANCELLED);
+            inventory.publishStatusChange(rental, Rental.RentalStatus.RESERVED);
+        } finally {
+            lock.unlock();
         }
-        System.err.println("Rental not found for cancellation: " + rentalId);
-        return false;
+        
+        if (!commitOrRestore(rental, Rental.RentalStatus.CANCELLED, Rental.RentalStatus.RESERVED,
+                             rental.getActualReturnDate(), rental.getLateFee())) {
+            return false;
+        }
+        updateCostumeStock(rental.getCostumeId(), rental.getSize(), 1);
+        
+        AsyncLogger.info("Cancelled rental {}", rental.getRentalId());
+        return true;
     }
     
+    // A return or cancellation is applied in memory before rentals.csv is written. If the
+    // write fails, the rental gets its old status, dates and fee back and takes its days
+    // again (hot-SKU counters and inventory snapshot), so memory matches the file.
+    // If another terminal changed the rental meanwhile, its change is kept instead.
+    private boolean commitOrRestore(Rental rental, Rental.RentalStatus newStatus, Rental.RentalStatus oldStatus,
+                                    LocalDate oldActualReturnDate, double oldLateFee) {
+        boolean committed = false;
+        try {
+            committed = commitStatusChange(rental, newStatus);
+            return committed;
+        } finally {
+            if (!committed) {
+                restoreStatus(rental, newStatus, oldStatus, oldActualReturnDate, oldLateFee);
+            }
+        }
+    }
+
+    private void restoreStatus(Rental rental, Rental.RentalStatus newStatus, Rental.RentalStatus oldStatus,
+                               LocalDate oldActualReturnDate, double oldLateFee) {
+        ReentrantLock lock = skuLocks.lockFor(rental.getCostumeId(), rental.getSize());
+        lock.lock();
+        try {
+            if (rental.getStatus() != newStatus) return;
+            rental.setActualReturnDate(oldActualReturnDate);
+            rental.setLateFee(oldLateFee);
+            rental.setStatus(oldStatus);
+            HotSkuOccupancy hotSku = hotSkus.get(skuKey(rental.getCostumeId(), rental.getSize()));
+            if (hotSku != null && occupiesStock(rental)) {
+                hotSku.addExisting(rental.getRentalDate(), rental.getReturnDate());
+            }
+            statusScheduler.schedule(rental);
+            inventory.publishStatusChange(rental, newStatus);
+            AsyncLogger.warn("Rental {} was not saved and is {} again", rental.getRentalId(), oldStatus);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void releaseHotSku(Rental rental) {
+        HotSkuOccupancy hotSku = hotSkus.get(skuKey(rental.getCostumeId(), rental.getSize()));
+        if (hotSku != null && occupiesStock(rental)) {
+            hotSku.release(rental.getRentalDate(), rental.getReturnDate());
+        }
+    }
+
+    // Only rentals whose transition day has come are re-evaluated, so this is cheap
+    // to call on every screen open
     public void updateAllRentalStatuses() {
-        boolean hasChanges = false;
+        STATUS_UPDATE_TIME.time(this::updateDueStatuses);
+    }
+
+    private void updateDueStatuses() {
+        LocalDate today = RentalClock.today();
+        advanceHotSkuWindows(today);
+        List<Rental> due = statusScheduler.pollDue(today);
+        if (due.isEmpty()) return;
+
+        List<Rental> changed = new ArrayList<>();
+        int[] statusDelta = new int[Rental.RentalStatus.values().length];
         
-        for (Rental rental : allRentals) {
+        for (Rental rental : due) {
+            // Skip bookings that were withdrawn or replaced since they were scheduled
+            if (rentalsById.get(rental.getRentalId()) != rental) {
+                continue;
+            }
+            if (pendingBookings.contains(rental)) {
+                statusScheduler.schedule(rental); // retried once the booking is committed
+                continue;
+            }
             Rental.RentalStatus oldStatus = rental.getStatus();
             rental.updateStatus();
+            statusScheduler.schedule(rental);
             
             if (oldStatus != rental.getStatus()) {
-                hasChanges = true;
-                System.out.println("Updated rental " + rental.getRentalId() + 
-                                 " status: " + oldStatus + " -> " + rental.getStatus());
+                changed.add(rental);
+                statusDelta[oldStatus.ordinal()]--;
+                statusDelta[rental.getStatus().ordinal()]++;
+                AsyncLogger.info("Updated rental {} status: {} -> {}", rental.getRentalId(), oldStatus, rental.getStatus());
             }
         }
         
-        if (hasChanges) {
-            saveRentals();
+        if (!changed.isEmpty()) {
+            inventory.publishStatusCounts(statusDelta);
+            commitChanges(changed);
         }
     }
     
@@ -262,14 +1025,31 @@ public class RentalService {
         return dailyRate * days;
     }
     
+    // Includes archived rentals
     public List<Rental> getAllRentals() {
-        return new ArrayList<>(allRentals);
+        return withArchived(new ArrayList<>(allRentals), archive.getAllRentals());
+    }
+
+    // Number of rentals per costume ID over the full history, cancelled ones excluded.
+    // The archive part comes from its per-month summaries, so no archived rentals are loaded.
+    // A rental being archived at that moment may briefly be counted in both places.
+    public Map<String, Integer> getRentalCountsByCostume() {
+        Map<String, Integer> counts = archive.getRentalCountsByCostume();
+        for (Rental rental : allRentals) {
+            if (rental.getStatus() != Rental.RentalStatus.CANCELLED) {
+                counts.merge(rental.getCostumeId(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+   
+    // Column-oriented copy of the full history (working set and archive) for analytics
+    public RentalColumnStore buildColumnStore() {
+        return RentalColumnStore.build(getAllRentals(), inventory.current().getCostumes());
     }
    
     public Rental findRentalById(String rentalId) {
-        return allRentals.stream()
-                .filter(rental -> rental.getRentalId().equals(rentalId))
-                .findFirst()
-                .orElse(null);
+        Rental rental = rentalsById.get(rentalId);
+        return rental != null ? rental : archive.findRentalById(rentalId);
     }
 }
\ No newline at end of file
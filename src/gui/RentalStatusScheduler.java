@@ -0,0 +1,101 @@
+package gui;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Timing wheel of rental status transitions with one slot per day.
+// Only the calendar moves RESERVED -> ACTIVE (on the rental date) and ACTIVE -> OVERDUE
+// (the day after the return date), so each rental waits in the slot of its next
+// transition and advancing a day touches only the rentals due that day.
+// Transitions further ahead than the wheel spans wait in an overflow map until they
+// come into range. Returned, cancelled or discarded rentals are not removed from their
+// slot; the caller skips them when they fire.
+public class RentalStatusScheduler {
+    private static final int WHEEL_DAYS = 512;
+
+    private final List<Set<Rental>> slots = new ArrayList<>(WHEEL_DAYS);
+    private final TreeMap<Long, Set<Rental>> overflow = new TreeMap<>();
+    // Rentals scheduled for a day that has already been processed
+    private final Set<Rental> late = newRentalSet();
+    // Every transition up to and including this day has been handed out
+    private long currentDay;
+
+    public RentalStatusScheduler(LocalDate today) {
+        for (int i = 0; i < WHEEL_DAYS; i++) {
+            slots.add(newRentalSet());
+        }
+        currentDay = today.toEpochDay();
+    }
+
+    // Day on which the rental's status changes next by itself, or null if it never will
+    static LocalDate nextTransition(Rental rental) {
+        switch (rental.getStatus()) {
+            case RESERVED:
+                return rental.getRentalDate();
+            case ACTIVE:
+                return rental.getReturnDate().plusDays(1);
+            default:
+                return null;
+        }
+    }
+
+    public synchronized void schedule(Rental rental) {
+        LocalDate next = nextTransition(rental);
+        if (next == null) return;
+
+        long day = next.toEpochDay();
+        if (day <= currentDay) {
+            late.add(rental);
+        } else if (day - currentDay < WHEEL_DAYS) {
+            slots.get(slotIndex(day)).add(rental);
+        } else {
+            overflow.computeIfAbsent(day, d -> newRentalSet()).add(rental);
+        }
+    }
+
+    // Rentals with a transition after the previous poll and on or before today
+    public synchronized List<Rental> pollDue(LocalDate today) {
+        long target = today.toEpochDay();
+        if (target <= currentDay && late.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Rental> due = new ArrayList<>(late);
+        late.clear();
+        while (currentDay < target) {
+            currentDay++;
+            Set<Rental> slot = slots.get(slotIndex(currentDay));
+            due.addAll(slot);
+            slot.clear();
+
+            // The wheel now reaches one day further; move that day in from the overflow
+            long newestDay = currentDay + WHEEL_DAYS - 1;
+            Set<Rental> later = overflow.remove(newestDay);
+            if (later != null) {
+                slots.get(slotIndex(newestDay)).addAll(later);
+            }
+        }
+        return due;
+    }
+
+    public synchronized void clear() {
+        for (Set<Rental> slot : slots) {
+            slot.clear();
+        }
+        overflow.clear();
+        late.clear();
+    }
+
+    private static int slotIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) WHEEL_DAYS);
+    }
+
+    private static Set<Rental> newRentalSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
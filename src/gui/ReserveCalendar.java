@@ -27,17 +27,18 @@ public class ReserveCalendar extends JDialog {
     private final JPanel calendarPanel;
     private final Map<LocalDate, Integer> reservationCounts = new HashMap<>();
     private int maxStock = 0;
-    private final FileIO fileIO; 
+    private final InventoryState inventory; 
 
     public ReserveCalendar(Frame owner, String costumeId, String selectedSize) {
         super(owner, "StockCalendar", false); 
         this.costumeId = costumeId;
         this.selectedSize = selectedSize;
-        this.currentMonth = YearMonth.now();
-        this.fileIO = FileIO.getInstance(); 
+        this.currentMonth = YearMonth.from(RentalClock.today());
+        this.inventory = InventoryState.getInstance(); 
 
-        loadCostumeStock();
-        loadReservations();
+        InventorySnapshot snapshot = inventory.current();
+        loadCostumeStock(snapshot);
+        loadReservations(snapshot);
 
         setLayout(new BorderLayout());
 
@@ -92,20 +93,22 @@ public class ReserveCalendar extends JDialog {
         this.costumeId = newCostumeId;
         this.selectedSize = newSelectedSize;
         
-        loadCostumeStock();
-        loadReservations();
+        InventorySnapshot snapshot = inventory.current();
+        loadCostumeStock(snapshot);
+        loadReservations(snapshot);
         
 
         updateCalendar();
     }
 
-    private void loadCostumeStock() {
-        this.maxStock = fileIO.getCostumeStock(this.costumeId, this.selectedSize);
+    // Stock and reservations must come from the same snapshot
+    private void loadCostumeStock(InventorySnapshot snapshot) {
+        this.maxStock = snapshot.getStock(this.costumeId, this.selectedSize);
     }
 
-    private void loadReservations() {
+    private void loadReservations(InventorySnapshot snapshot) {
         this.reservationCounts.clear();
-        Map<LocalDate, Integer> newCounts = fileIO.getReservationCounts(this.costumeId, this.selectedSize);
+        Map<LocalDate, Integer> newCounts = snapshot.getReservationCounts(this.costumeId, this.selectedSize);
         this.reservationCounts.putAll(newCounts);
     }
 
@@ -124,7 +127,7 @@ public class ReserveCalendar extends JDialog {
         }
 
         int daysInMonth = currentMonth.lengthOfMonth();
-        LocalDate today = LocalDate.now(); 
+        LocalDate today = RentalClock.today(); 
 
         for (int day = 1; day <= daysInMonth; day++) {
             LocalDate currentDate = currentMonth.atDay(day);
@@ -0,0 +1,142 @@
+package gui;
+
+import java.awt.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Map;
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+
+public class RevenueAnalyticsFrame extends JFrame {
+
+    private static final String[] PERIODS = {"Last 12 Months", "This Year", "Last Year", "All Time"};
+
+    private RentalService rentalService;
+    private RentalColumnStore store;
+
+    private DefaultTableModel monthModel;
+    private DefaultTableModel eventModel;
+    private DefaultTableModel costumeModel;
+    private JComboBox<String> periodComboBox;
+    private JLabel summaryLabel;
+
+    public RevenueAnalyticsFrame() {
+        this.rentalService = new RentalService();
+        setTitle("Revenue Analytics");
+        setSize(800, 600);
+        setLocationRelativeTo(null);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Period selection
+        JPanel topPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        topPanel.add(new JLabel("Period:"));
+        periodComboBox = new JComboBox<>(PERIODS);
+        topPanel.add(periodComboBox);
+        add(topPanel, BorderLayout.NORTH);
+
+        // One table per breakdown
+        monthModel = createTableModel("Month", "Revenue");
+        eventModel = createTableModel("Event", "Revenue");
+        costumeModel = createTableModel("Costume ID", "Costume Name", "Revenue");
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.addTab("By Month", new JScrollPane(new JTable(monthModel)));
+        tabs.addTab("By Event", new JScrollPane(new JTable(eventModel)));
+        tabs.addTab("By Costume", new JScrollPane(new JTable(costumeModel)));
+        add(tabs, BorderLayout.CENTER);
+
+        // Summary and controls
+        JPanel bottomPanel = new JPanel(new BorderLayout(10, 10));
+        summaryLabel = new JLabel();
+        bottomPanel.add(summaryLabel, BorderLayout.CENTER);
+        JButton refreshButton = new JButton("Refresh");
+        bottomPanel.add(refreshButton, BorderLayout.EAST);
+        add(bottomPanel, BorderLayout.SOUTH);
+
+        // Event listeners
+        periodComboBox.addActionListener(e -> showAnalytics());
+        refreshButton.addActionListener(e -> {
+            store = null; // rebuild from the current rentals
+            showAnalytics();
+        });
+
+        showAnalytics(); // Initial data load
+    }
+
+    private DefaultTableModel createTableModel(String... columnNames) {
+        return new DefaultTableModel(columnNames, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+    }
+
+    private void showAnalytics() {
+        if (store == null) {
+            store = rentalService.buildColumnStore();
+        }
+        LocalDate[] range = selectedRange();
+        LocalDate from = range[0];
+        LocalDate to = range[1];
+
+        long startTime = System.nanoTime();
+        Map<YearMonth, Long> byMonth = store.revenueByMonth(from, to);
+        Map<CostumeEvent, Long> byEvent = store.revenueByEvent(from, to);
+        Map<String, Long> byCostume = store.revenueByCostume(from, to);
+        Map<Rental.RentalStatus, Integer> byStatus = store.countByStatus(from, to);
+        double averageDays = store.averageRentalDays(from, to);
+        int members = store.activeMemberCount(from, to);
+        double elapsedMs = (System.nanoTime() - startTime) / 1_000_000.0;
+
+        monthModel.setRowCount(0);
+        long total = 0;
+        for (Map.Entry<YearMonth, Long> entry : byMonth.entrySet()) {
+            monthModel.addRow(new Object[] { entry.getKey().toString(), formatCents(entry.getValue()) });
+            total += entry.getValue();
+        }
+
+        eventModel.setRowCount(0);
+        for (Map.Entry<CostumeEvent, Long> entry : byEvent.entrySet()) {
+            eventModel.addRow(new Object[] { entry.getKey().getDisplayName(), formatCents(entry.getValue()) });
+        }
+
+        costumeModel.setRowCount(0);
+        InventorySnapshot snapshot = InventoryState.getInstance().current();
+        for (Map.Entry<String, Long> entry : byCostume.entrySet()) {
+            Costume costume = snapshot.getCostume(entry.getKey());
+            String name = costume != null ? costume.getCostumeName() : "(deleted)";
+            costumeModel.addRow(new Object[] { entry.getKey(), name, formatCents(entry.getValue()) });
+        }
+
+        int rentals = 0;
+        for (int count : byStatus.values()) {
+            rentals += count;
+        }
+        summaryLabel.setText(String.format(
+            "<html><b>Total revenue:</b> %s &nbsp; <b>Rentals:</b> %d (%d cancelled) &nbsp; " +
+            "<b>Members:</b> %d &nbsp; <b>Avg. length:</b> %.1f days<br>" +
+            "Aggregated %d rentals in %.2f ms</html>",
+            formatCents(total), rentals, byStatus.get(Rental.RentalStatus.CANCELLED), members, averageDays,
+            store.size(), elapsedMs
+        ));
+    }
+
+    private LocalDate[] selectedRange() {
+        LocalDate today = RentalClock.today();
+        switch (periodComboBox.getSelectedIndex()) {
+            case 1:
+                return new LocalDate[] { today.withDayOfYear(1), today.withDayOfYear(today.lengthOfYear()) };
+            case 2:
+                LocalDate lastYear = today.minusYears(1);
+                return new LocalDate[] { lastYear.withDayOfYear(1), lastYear.withDayOfYear(lastYear.lengthOfYear()) };
+            case 3:
+                return new LocalDate[] { store.getFirstRentalDate(), store.getLastRentalDate() };
+            default:
+                return new LocalDate[] { today.minusMonths(11).withDayOfMonth(1), today };
+        }
+    }
+
+    private String formatCents(long cents) {
+        return String.format("%.2f", cents / 100.0);
+    }
+}
@@ -0,0 +1,242 @@
+package gui;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Coordinates several application instances (counter terminals) sharing one gui/ directory.
+//
+// - gui/.data.lock      : FileChannel lock held around every write to the data files
+// - gui/.changes.seq    : small memory-mapped file with a monotonic change sequence,
+//                         cheap for other instances to poll
+// - gui/changes.journal : one line per change ("seq,TYPE,payload") so other instances
+//                         apply only the delta instead of re-reading rentals.csv
+//
+// Writers hold the lock, first catch up on changes from other instances, write the CSV
+// file, then append their change and bump the sequence. Once the journal grows past
+// MAX_JOURNAL_ENTRIES it is truncated; instances that were behind do a full reload.
+public class SharedDataDirectory {
+    private static final Path LOCK_PATH = Paths.get("./gui/.data.lock");
+    private static final Path SEQUENCE_PATH = Paths.get("./gui/.changes.seq");
+    static final Path JOURNAL_PATH = Paths.get("./gui/changes.journal");
+
+    private static final int MAGIC = 0x52534551; // "RSEQ"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int SEQUENCE_OFFSET = 8;
+    private static final int JOURNAL_BASE_OFFSET = 16; // first sequence still in the journal
+    private static final int SEQUENCE_FILE_SIZE = 64;
+    private static final int MAX_JOURNAL_ENTRIES = 5000;
+
+    public interface LockedAction<T> {
+        T run() throws IOException;
+    }
+
+    // Receives changes written by other instances (called with the lock held)
+    public interface ChangeListener {
+        void onChanges(List<String> entries);
+        void onFullReload();
+    }
+
+    private static SharedDataDirectory instance;
+
+    private final ReentrantLock processLock = new ReentrantLock();
+    private final FileChannel lockChannel;
+    private final MappedByteBuffer sequenceBuffer;
+    private FileLock fileLock;
+    private ChangeListener listener;
+
+    // Position of this instance in the journal
+    private volatile long appliedSequence;
+    private long journalOffset;
+
+    private SharedDataDirectory() {
+        try {
+            Files.createDirectories(LOCK_PATH.toAbsolutePath().getParent());
+            lockChannel = FileChannel.open(LOCK_PATH, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try (FileChannel sequenceChannel = FileChannel.open(SEQUENCE_PATH, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                sequenceBuffer = sequenceChannel.map(FileChannel.MapMode.READ_WRITE, 0, SEQUENCE_FILE_SIZE);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to open shared data directory", e);
+        }
+    }
+
+    public static synchronized SharedDataDirectory getInstance() {
+        if (instance == null) {
+            instance = new SharedDataDirectory();
+        }
+        return instance;
+    }
+
+    public void setChangeListener(ChangeListener listener) {
+        this.listener = listener;
+    }
+
+    // Cheap check: one read from the mapped sequence file, no lock and no file I/O
+    public boolean hasRemoteChanges() {
+        return currentSequence() != appliedSequence;
+    }
+
+    public long currentSequence() {
+        if (sequenceBuffer.getInt(MAGIC_OFFSET) != MAGIC) return 0;
+        return sequenceBuffer.getLong(SEQUENCE_OFFSET);
+    }
+
+    // Changes other terminals have journaled that this one has not applied yet
+    public long getPendingChangeCount() {
+        return Math.max(0, currentSequence() - appliedSequence);
+    }
+
+    // Number of changes currently kept in the journal
+    public long getJournalLength() {
+        if (sequenceBuffer.getInt(MAGIC_OFFSET) != MAGIC) return 0;
+        return currentSequence() - sequenceBuffer.getLong(JOURNAL_BASE_OFFSET) + 1;
+    }
+
+    // Apply pending changes from other instances, if any
+    public void pollForChanges() throws IOException {
+        if (hasRemoteChanges()) {
+            withWriteLock(() -> null);
+        }
+    }
+
+    // Run action holding both the in-process and the inter-process lock, after catching up
+    // on changes from other instances. Re-entrant within one thread.
+    public <T> T withWriteLock(LockedAction<T> action) throws IOException {
+        processLock.lock();
+        try {
+            if (processLock.getHoldCount() == 1) {
+                fileLock = lockChannel.lock();
+                initializeSequenceFile();
+                catchUp();
+            }
+            return action.run();
+        } finally {
+            if (processLock.getHoldCount() == 1 && fileLock != null) {
+                fileLock.release();
+                fileLock = null;
+            }
+            processLock.unlock();
+        }
+    }
+
+    // Mark everything written so far as already applied (used right after a full load)
+    void markUpToDate() throws IOException {
+        requireLock();
+        appliedSequence = currentSequence();
+        journalOffset = Files.exists(JOURNAL_PATH) ? Files.size(JOURNAL_PATH) : 0;
+    }
+
+    // Record changes this instance has just written to the CSV files
+    public void appendChanges(String type, List<String> payloads) throws IOException {
+        requireLock();
+        if (payloads.isEmpty()) return;
+
+        long sequence = currentSequence();
+        StringBuilder entries = new StringBuilder();
+        for (String payload : payloads) {
+            sequence++;
+            entries.append(sequence).append(',').append(type).append(',').append(payload).append('\n');
+        }
+        byte[] bytes = entries.toString().getBytes(StandardCharsets.UTF_8);
+
+        try (FileChannel journal = FileChannel.open(JOURNAL_PATH, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            journal.write(ByteBuffer.wrap(bytes));
+            journal.force(false);
+        }
+        MetricsRegistry.getInstance().recordFileWrite(JOURNAL_PATH, bytes.length);
+        // Only publish the new sequence once the journal entries are on disk
+        sequenceBuffer.putLong(SEQUENCE_OFFSET, sequence);
+        sequenceBuffer.force();
+        appliedSequence = sequence;
+        journalOffset += bytes.length;
+
+        if (getJournalLength() > MAX_JOURNAL_ENTRIES) {
+            compactJournal(sequence);
+        }
+    }
+
+    // All journaled changes are already in the CSV files, so the journal can simply be emptied
+    private void compactJournal(long sequence) throws IOException {
+        try (FileChannel journal = FileChannel.open(JOURNAL_PATH, StandardOpenOption.WRITE)) {
+            journal.truncate(0);
+            journal.force(true);
+        }
+        sequenceBuffer.putLong(JOURNAL_BASE_OFFSET, sequence + 1);
+        sequenceBuffer.force();
+        journalOffset = 0;
+        AsyncLogger.info("Compacted change journal at sequence {}", sequence);
+    }
+
+    private void initializeSequenceFile() {
+        if (sequenceBuffer.getInt(MAGIC_OFFSET) != MAGIC) {
+            sequenceBuffer.putLong(SEQUENCE_OFFSET, 0);
+            sequenceBuffer.putLong(JOURNAL_BASE_OFFSET, 1);
+            sequenceBuffer.putInt(MAGIC_OFFSET, MAGIC);
+            sequenceBuffer.force();
+        }
+    }
+
+    private void catchUp() throws IOException {
+        long sequence = currentSequence();
+        if (sequence == appliedSequence || listener == null) return;
+
+        long journalBase = sequenceBuffer.getLong(JOURNAL_BASE_OFFSET);
+        if (appliedSequence + 1 < journalBase || sequence < appliedSequence) {
+            // The entries we missed were compacted away (or the files were replaced)
+            listener.onFullReload();
+            markUpToDate();
+            return;
+        }
+
+        List<String> payloads = new ArrayList<>();
+        long newOffset = journalOffset;
+        try (RandomAccessFile journal = new RandomAccessFile(JOURNAL_PATH.toFile(), "r")) {
+            journal.seek(journalOffset);
+            byte[] remaining = new byte[(int) (journal.length() - journalOffset)];
+            journal.readFully(remaining);
+            MetricsRegistry.getInstance().recordFileRead(JOURNAL_PATH, remaining.length);
+            String text = new String(remaining, StandardCharsets.UTF_8);
+
+            int lineStart = 0;
+            int lineEnd;
+            while ((lineEnd = text.indexOf('\n', lineStart)) >= 0) {
+                String line = text.substring(lineStart, lineEnd);
+                newOffset += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                lineStart = lineEnd + 1;
+
+                int firstComma = line.indexOf(',');
+                long entrySequence = Long.parseLong(line.substring(0, firstComma));
+                if (entrySequence > appliedSequence && entrySequence <= sequence) {
+                    payloads.add(line.substring(firstComma + 1));
+                }
+            }
+        }
+
+        journalOffset = newOffset;
+        appliedSequence = sequence;
+        if (!payloads.isEmpty()) {
+            listener.onChanges(Collections.unmodifiableList(payloads));
+        }
+    }
+
+    private void requireLock() {
+        if (!processLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Shared data directory lock is not held");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package gui;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+// Fixed pool of locks striped by costume + size (a SKU).
+// Two bookings for the same SKU always map to the same lock, so availability check and
+// insert happen atomically; different SKUs usually land on different stripes and run in parallel.
+public class SkuLockStripes {
+    private static final int STRIPE_COUNT = 64; // power of two so the index is a mask
+
+    private static final SkuLockStripes instance = new SkuLockStripes(STRIPE_COUNT);
+
+    private final ReentrantLock[] locks;
+
+    private SkuLockStripes(int stripeCount) {
+        this.locks = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public static SkuLockStripes getInstance() {
+        return instance;
+    }
+
+    public ReentrantLock lockFor(String costumeId, String size) {
+        int hash = 31 * costumeId.hashCode() + size.hashCode();
+        hash ^= (hash >>> 16); // spread high bits so similar IDs (C001, C002...) do not cluster
+        return locks[hash & (locks.length - 1)];
+    }
+}
@@ -0,0 +1,76 @@
+package gui;
+
+// Immutable map from SKU (costume code + size code, see IdDictionary) to its
+// DailyReservationCounts, shared between InventorySnapshot versions.
+// Two levels: a 32-way trie indexed by costume code, whose leaves are small arrays indexed
+// by size code. with() copies only the path to the costume (a few 32-slot nodes) and that
+// costume's size array, so a booking copies a few hundred references at most instead of
+// the whole table.
+final class SkuReservations {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    static final SkuReservations EMPTY = new SkuReservations(new Object[WIDTH], 0);
+
+    // Inner nodes are Object[WIDTH]; at shift 0 the slots hold DailyReservationCounts[] by size code
+    private final Object[] root;
+    private final int shift;
+
+    private SkuReservations(Object[] root, int shift) {
+        this.root = root;
+        this.shift = shift;
+    }
+
+    DailyReservationCounts get(int costumeCode, int sizeCode) {
+        if (costumeCode < 0 || sizeCode < 0 || costumeCode >= capacity(shift)) {
+            return DailyReservationCounts.EMPTY;
+        }
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(costumeCode >>> level) & MASK];
+            if (node == null) return DailyReservationCounts.EMPTY;
+        }
+        DailyReservationCounts[] bySize = (DailyReservationCounts[]) node[costumeCode & MASK];
+        if (bySize == null || sizeCode >= bySize.length || bySize[sizeCode] == null) {
+            return DailyReservationCounts.EMPTY;
+        }
+        return bySize[sizeCode];
+    }
+
+    // Copy with the counts of one SKU replaced (an empty DailyReservationCounts clears it)
+    SkuReservations with(int costumeCode, int sizeCode, DailyReservationCounts counts) {
+        Object[] newRoot = root;
+        int newShift = shift;
+        while (costumeCode >= capacity(newShift)) {
+            Object[] grown = new Object[WIDTH];
+            grown[0] = newRoot;
+            newRoot = grown;
+            newShift += BITS;
+        }
+        return new SkuReservations(with(newRoot, newShift, costumeCode, sizeCode, counts), newShift);
+    }
+
+    private static Object[] with(Object[] node, int level, int costumeCode, int sizeCode,
+                                 DailyReservationCounts counts) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int slot = (costumeCode >>> level) & MASK;
+        if (level > 0) {
+            copy[slot] = with((Object[]) copy[slot], level - BITS, costumeCode, sizeCode, counts);
+            return copy;
+        }
+        DailyReservationCounts[] bySize = (DailyReservationCounts[]) copy[slot];
+        int length = Math.max(sizeCode + 1, bySize == null ? 0 : bySize.length);
+        DailyReservationCounts[] newBySize = new DailyReservationCounts[length];
+        if (bySize != null) {
+            System.arraycopy(bySize, 0, newBySize, 0, bySize.length);
+        }
+        newBySize[sizeCode] = counts.isEmpty() ? null : counts;
+        copy[slot] = newBySize;
+        return copy;
+    }
+
+    private static int capacity(int shift) {
+        return shift + BITS >= Integer.SIZE - 1 ? Integer.MAX_VALUE : 1 << (shift + BITS);
+    }
+}
@@ -0,0 +1,41 @@
+package gui;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The sizes the shop normally stocks, smallest first.
+// They are registered in IdDictionary.SIZES before anything else, so a standard size's
+// dictionary code equals its ordinal and sorting by code gives this order. Any other
+// size found in the data (the escape hatch for custom sizes) is appended after them.
+public enum StandardSize {
+    XS("XS"),
+    S("S"),
+    M("M"),
+    L("L"),
+    XL("XL"),
+    XXL("XXL"),
+    ONE_SIZE("One Size");
+
+    private final String label;
+
+    StandardSize(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static List<String> labels() {
+        List<String> labels = new ArrayList<>();
+        for (StandardSize size : values()) {
+            labels.add(size.label);
+        }
+        return labels;
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
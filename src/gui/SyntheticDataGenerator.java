@@ -0,0 +1,389 @@
+package gui;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Writes costumes.csv, Registrater.csv and rentals.csv at production scale for benchmarks
+// and load tests.
+// - Rental dates follow the season of the costume's event (Halloween around Oct 31,
+//   graduation in March, ...), a few costumes get most of the rentals, and sizes follow
+//   a typical M/L-heavy distribution.
+// - Past rentals are returned (some late, with a late fee), cancelled, or still overdue;
+//   current ones are active and future ones reserved.
+// - Rows are generated in fixed-size chunks on a thread pool and written in order as
+//   they complete, so memory stays flat for any size. Every chunk has its own seed, so
+//   the output does not depend on the number of threads.
+// Stock limits are not enforced: at 10M rentals a popular SKU-day can be overbooked.
+//
+// Usage: java gui.SyntheticDataGenerator <output dir> [costumes] [members] [rentals] [threads] [seed]
+//   e.g. java gui.SyntheticDataGenerator /tmp/scale/gui 100000 1000000 10000000
+public class SyntheticDataGenerator {
+    private static final int CHUNK_ROWS = 20_000;
+    private static final int HISTORY_YEARS = 3;
+    private static final int BOOKING_HORIZON_DAYS = 180;
+
+    // Share of rentals booked around the event's peak date rather than at any time of year
+    private static final double SEASONAL_SHARE = 0.75;
+    private static final double CANCEL_RATE = 0.04;
+    private static final double LATE_RETURN_RATE = 0.08;
+    // Share of rentals due in the last OVERDUE_WINDOW_DAYS days that are still out
+    private static final double OVERDUE_RATE = 0.03;
+    private static final int OVERDUE_WINDOW_DAYS = 30;
+    private static final double ONE_SIZE_RATE = 0.15;
+
+    // Standard sizes XS..XXL: how likely a costume comes in the size, and its share of rentals
+    private static final double[] SIZE_OFFERED = {0.3, 0.8, 0.95, 0.85, 0.45, 0.2};
+    private static final int[] SIZE_WEIGHT = {5, 20, 35, 25, 10, 5};
+
+    // Peak date and spread of each event's season (also drives PeakSeasonSimulation)
+    static final Map<CostumeEvent, MonthDay> PEAK_DATES = new EnumMap<>(CostumeEvent.class);
+    static final Map<CostumeEvent, Integer> PEAK_SPREAD_DAYS = new EnumMap<>(CostumeEvent.class);
+    static {
+        peak(CostumeEvent.SPRING_FESTIVALS, MonthDay.of(4, 5), 12);
+        peak(CostumeEvent.GRADUATION_CEREMONY, MonthDay.of(3, 20), 10);
+        peak(CostumeEvent.SUMMER_FESTIVALS, MonthDay.of(8, 5), 20);
+        peak(CostumeEvent.HALLOWEEN, MonthDay.of(10, 31), 6);
+        peak(CostumeEvent.CHRISTMAS, MonthDay.of(12, 24), 7);
+        peak(CostumeEvent.YEAR_END_PARTIES, MonthDay.of(12, 20), 10);
+        peak(CostumeEvent.NEW_YEARS_CELEBRATION, MonthDay.of(1, 1), 4);
+        peak(CostumeEvent.WEDDING_GUEST, MonthDay.of(6, 15), 45);
+        peak(CostumeEvent.WEDDING_RECEPTION, MonthDay.of(6, 15), 45);
+        peak(CostumeEvent.COMING_OF_AGE_CEREMONY, MonthDay.of(1, 10), 3);
+        peak(CostumeEvent.SHICHI_GO_SAN, MonthDay.of(11, 15), 8);
+        peak(CostumeEvent.COSPLAY_EVENTS, MonthDay.of(8, 12), 5);
+        // Birthdays and stage performances have no season
+    }
+
+    private static final String[] ADJECTIVES = {
+        "Classic", "Deluxe", "Elegant", "Vintage", "Modern", "Royal", "Sparkling", "Traditional", "Chic", "Bold"
+    };
+    private static final Map<CostumeEvent, String[]> ITEMS = new EnumMap<>(CostumeEvent.class);
+    static {
+        ITEMS.put(CostumeEvent.SPRING_FESTIVALS, new String[] {"Sakura Yukata", "Easter Bunny Suit", "Spring Dress"});
+        ITEMS.put(CostumeEvent.GRADUATION_CEREMONY, new String[] {"Hakama Set", "Pant Suit", "Graduation Gown"});
+        ITEMS.put(CostumeEvent.SUMMER_FESTIVALS, new String[] {"Yukata", "Jinbei", "Festival Happi"});
+        ITEMS.put(CostumeEvent.HALLOWEEN, new String[] {"Vampire Costume", "Witch Dress", "Zombie Uniform", "Ghost Poncho"});
+        ITEMS.put(CostumeEvent.CHRISTMAS, new String[] {"Santa Suit", "Reindeer Onesie", "Elf Costume"});
+        ITEMS.put(CostumeEvent.YEAR_END_PARTIES, new String[] {"Party Dress", "Sequin Jacket", "Tuxedo"});
+        ITEMS.put(CostumeEvent.NEW_YEARS_CELEBRATION, new String[] {"Furisode", "Haori Hakama", "Kimono"});
+        ITEMS.put(CostumeEvent.WEDDING_GUEST, new String[] {"Cocktail Dress", "Three-Piece Suit", "Homongi"});
+        ITEMS.put(CostumeEvent.WEDDING_RECEPTION, new String[] {"Evening Gown", "White Tuxedo", "Party Suit"});
+        ITEMS.put(CostumeEvent.COMING_OF_AGE_CEREMONY, new String[] {"Furisode", "Montsuki Hakama"});
+        ITEMS.put(CostumeEvent.SHICHI_GO_SAN, new String[] {"Kids Kimono", "Kids Hakama"});
+        ITEMS.put(CostumeEvent.BIRTHDAYS_ANNIVERSARIES, new String[] {"Princess Dress", "Prince Costume", "Party Outfit"});
+        ITEMS.put(CostumeEvent.STAGE_PERFORMANCES, new String[] {"Musketeer Costume", "Ballet Tutu", "Period Drama Set"});
+        ITEMS.put(CostumeEvent.COSPLAY_EVENTS, new String[] {"Ninja Outfit", "Magical Girl Dress", "Samurai Armor"});
+    }
+
+    private static final String[] FIRST_NAMES = {"Yuki", "Haruto", "Sakura", "Ren", "Aoi", "Sota", "Hina", "Kaito", "Mei", "Riku"};
+    private static final String[] LAST_NAMES = {"Tanaka", "Suzuki", "Sato", "Takahashi", "Watanabe", "Ito", "Yamamoto", "Nakamura"};
+
+    private final Path outputDirectory;
+    private final int costumeCount;
+    private final int memberCount;
+    private final long rentalCount;
+    private final int threads;
+    private final long seed;
+    private final LocalDate today = RentalClock.today();
+    private final long firstDay = today.minusYears(HISTORY_YEARS).toEpochDay();
+    private final long lastDay = today.plusDays(BOOKING_HORIZON_DAYS).toEpochDay();
+
+    // Costume attributes the rental rows need, filled while costumes.csv is written
+    private final byte[] costumeEvent;
+    private final int[] costumeDailyCents;
+    private final int[][] costumeSizes;  // IdDictionary.SIZES codes (= StandardSize ordinals)
+
+    private ExecutorService executor;
+
+    public SyntheticDataGenerator(Path outputDirectory, int costumeCount, int memberCount, long rentalCount,
+                                  int threads, long seed) {
+        this.outputDirectory = outputDirectory;
+        this.costumeCount = costumeCount;
+        this.memberCount = memberCount;
+        this.rentalCount = rentalCount;
+        this.threads = threads;
+        this.seed = seed;
+        this.costumeEvent = new byte[costumeCount];
+        this.costumeDailyCents = new int[costumeCount];
+        this.costumeSizes = new int[costumeCount][];
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java gui.SyntheticDataGenerator <output dir> [costumes] [members] [rentals] [threads] [seed]");
+            System.exit(1);
+        }
+        Path outputDirectory = Paths.get(args[0]);
+        int costumes = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int members = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        long rentals = args.length > 3 ? Long.parseLong(args[3]) : 100_000;
+        int threads = args.length > 4 ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+
+        new SyntheticDataGenerator(outputDirectory, costumes, members, rentals, threads, seed).generate();
+    }
+
+    public void generate() throws IOException, InterruptedException {
+        if (Files.exists(outputDirectory.resolve("FileIO.java"))) {
+            throw new IllegalArgumentException("Refusing to overwrite the data files in the source directory");
+        }
+        Files.createDirectories(outputDirectory);
+        // A snapshot, change journal or rental archive next to the new files would describe the old data
+        Files.deleteIfExists(outputDirectory.resolve("data.snapshot"));
+        Files.deleteIfExists(outputDirectory.resolve("changes.journal"));
+        Files.deleteIfExists(outputDirectory.resolve(".changes.seq"));
+        deleteArchive(outputDirectory.resolve("archive"));
+
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "data-generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long startTime = System.nanoTime();
+            writeFile("costumes.csv",
+                List.of("# Costume ID, Costume Name, Event, Price, Size:Stock pairs (comma-separated), Image Path"),
+                costumeCount, 1, this::appendCostume);
+            writeFile("Registrater.csv", List.of(), memberCount, 2, this::appendMember);
+            writeFile("rentals.csv", List.of(
+                "# Rental Management System - Rental Records",
+                "# Format: rentalId,memberId,costumeId,size,rentalDate,returnDate,actualReturnDate,totalCost,dailyRate,lateFee,status",
+                "# Highest rental ID: " + String.format("R%03d", rentalCount)),
+                rentalCount, 3, this::appendRental);
+            System.out.printf("Generated %d costumes, %d members and %d rentals in %s (%.1f s, %d threads)%n",
+                costumeCount, memberCount, rentalCount, outputDirectory.toAbsolutePath(),
+                (System.nanoTime() - startTime) / 1e9, threads);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    interface RowWriter {
+        void append(long row, SplittableRandom random, StringBuilder out);
+    }
+
+    // Generates chunks in parallel and writes them in row order, keeping at most two
+    // chunks per thread in memory
+    private void writeFile(String fileName, List<String> headerLines, long rows, long salt, RowWriter rowWriter)
+            throws IOException, InterruptedException {
+        Path path = outputDirectory.resolve(fileName);
+        long chunks = (rows + CHUNK_ROWS - 1) / CHUNK_ROWS;
+        long startTime = System.nanoTime();
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            for (String line : headerLines) {
+                writer.write(line);
+                writer.newLine();
+            }
+            ArrayDeque<Future<String>> inFlight = new ArrayDeque<>();
+            long nextChunk = 0;
+            while (nextChunk < chunks || !inFlight.isEmpty()) {
+                while (nextChunk < chunks && inFlight.size() < threads * 2) {
+                    long chunk = nextChunk++;
+                    inFlight.add(executor.submit(() -> generateChunk(chunk, rows, salt, rowWriter)));
+                }
+                writer.write(inFlight.poll().get());
+            }
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to generate " + fileName, e.getCause());
+        }
+        System.out.printf("Wrote %d rows to %s (%.1f MB, %.1f s)%n", rows, fileName,
+            Files.size(path) / 1e6, (System.nanoTime() - startTime) / 1e9);
+    }
+
+    // The archive only holds month files, no subdirectories
+    private static void deleteArchive(Path archive) throws IOException {
+        if (!Files.isDirectory(archive)) return;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archive)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(archive);
+    }
+
+    private String generateChunk(long chunk, long rows, long salt, RowWriter rowWriter) {
+        SplittableRandom random = new SplittableRandom(seed * 1_000_003L + salt * 0x9E3779B97F4A7C15L + chunk);
+        StringBuilder out = new StringBuilder(CHUNK_ROWS * 96);
+        long last = Math.min(rows, (chunk + 1) * CHUNK_ROWS);
+        for (long row = chunk * CHUNK_ROWS; row < last; row++) {
+            rowWriter.append(row, random, out);
+            out.append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+
+    private void appendCostume(long row, SplittableRandom random, StringBuilder out) {
+        int index = (int) row;
+        CostumeEvent event = CostumeEvent.values()[random.nextInt(CostumeEvent.values().length)];
+        String[] items = ITEMS.get(event);
+        int priceCents = (20 + random.nextInt(180)) * 100 + (random.nextBoolean() ? 50 : 0);
+
+        int[] sizes;
+        int[] offered = new int[SIZE_OFFERED.length];
+        int offeredCount = 0;
+        if (random.nextDouble() >= ONE_SIZE_RATE) {
+            for (int s = 0; s < SIZE_OFFERED.length; s++) {
+                if (random.nextDouble() < SIZE_OFFERED[s]) {
+                    offered[offeredCount++] = s;
+                }
+            }
+        }
+        if (offeredCount == 0) {
+            sizes = new int[] { StandardSize.ONE_SIZE.ordinal() };
+        } else {
+            sizes = Arrays.copyOf(offered, offeredCount);
+        }
+        costumeEvent[index] = (byte) event.ordinal();
+        costumeDailyCents[index] = priceCents;
+        costumeSizes[index] = sizes;
+
+        appendId(out, 'C', index + 1);
+        out.append(',')
+           .append(ADJECTIVES[random.nextInt(ADJECTIVES.length)]).append(' ')
+           .append(items[random.nextInt(items.length)]).append(',')
+           .append(event.name()).append(',');
+        appendMoney(out, priceCents);
+        for (int size : sizes) {
+            int weight = size < SIZE_WEIGHT.length ? SIZE_WEIGHT[size] : 35;
+            out.append(',').append(StandardSize.values()[size].getLabel()).append(':')
+               .append(1 + random.nextInt(1 + weight / 3));
+        }
+        out.append(",images/").append(event.name().toLowerCase()).append(".jpg");
+    }
+
+    private void appendMember(long row, SplittableRandom random, StringBuilder out) {
+        // Same format as the memberId column of the rentals (M001, M002, ...)
+        StringBuilder id = new StringBuilder();
+        appendId(id, 'M', row + 1);
+        String memberId = id.toString();
+        LocalDate registered = LocalDate.ofEpochDay(firstDay + random.nextLong(today.toEpochDay() - firstDay + 1));
+        out.append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append(' ')
+           .append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]).append(',')
+           .append(memberId).append(',')
+           .append(memberId.toLowerCase()).append("@example.com,")
+           .append("090-").append(1000 + random.nextInt(9000)).append('-').append(1000 + random.nextInt(9000)).append(',')
+           .append("password,")
+           .append("Tokyo ").append(1 + random.nextInt(9)).append('-').append(1 + random.nextInt(30)).append(',')
+           .append(registered);
+    }
+
+    private void appendRental(long row, SplittableRandom random, StringBuilder out) {
+        // A few costumes and members account for most rentals
+        int costume = (int) (costumeCount * Math.pow(random.nextDouble(), 2.5));
+        long member = (long) (memberCount * Math.pow(random.nextDouble(), 1.5));
+        CostumeEvent event = CostumeEvent.values()[costumeEvent[costume]];
+        int size = pickSize(costumeSizes[costume], random);
+
+        long rentalDay = rentalDay(event, random);
+        int days = random.nextDouble() < 0.8 ? 1 + random.nextInt(3) : 4 + random.nextInt(4);
+        long returnDay = rentalDay + days - 1;
+        long dailyCents = costumeDailyCents[costume];
+        long totalCents = dailyCents * days;
+
+        long todayDay = today.toEpochDay();
+        long actualReturnDay = -1;
+        long lateFeeCents = 0;
+        Rental.RentalStatus status;
+        if (rentalDay > todayDay) {
+            status = random.nextDouble() < CANCEL_RATE ? Rental.RentalStatus.CANCELLED : Rental.RentalStatus.RESERVED;
+        } else if (returnDay >= todayDay) {
+            status = Rental.RentalStatus.ACTIVE;
+        } else if (random.nextDouble() < CANCEL_RATE) {
+            status = Rental.RentalStatus.CANCELLED;
+        } else if (todayDay - returnDay <= OVERDUE_WINDOW_DAYS && random.nextDouble() < OVERDUE_RATE) {
+            status = Rental.RentalStatus.OVERDUE;
+            lateFeeCents = (todayDay - returnDay) * dailyCents / 10;
+        } else {
+            status = Rental.RentalStatus.RETURNED;
+            actualReturnDay = returnDay;
+            if (random.nextDouble() < LATE_RETURN_RATE) {
+                actualReturnDay = Math.min(todayDay, returnDay + 1 + random.nextInt(5));
+                lateFeeCents = (actualReturnDay - returnDay) * dailyCents / 10;
+            }
+        }
+
+        appendId(out, 'R', row + 1);
+        out.append(',');
+        appendId(out, 'M', member + 1);
+        out.append(',');
+        appendId(out, 'C', costume + 1);
+        out.append(',')
+           .append(StandardSize.values()[size].getLabel()).append(',')
+           .append(LocalDate.ofEpochDay(rentalDay)).append(',')
+           .append(LocalDate.ofEpochDay(returnDay)).append(',');
+        if (actualReturnDay >= 0) {
+            out.append(LocalDate.ofEpochDay(actualReturnDay));
+        }
+        out.append(',');
+        appendMoney(out, totalCents);
+        out.append(',');
+        appendMoney(out, dailyCents);
+        out.append(',');
+        appendMoney(out, lateFeeCents);
+        out.append(',').append(status.name());
+    }
+
+    // Around the event's peak date in one of the covered years, or any day in the window
+    private long rentalDay(CostumeEvent event, SplittableRandom random) {
+        MonthDay peak = PEAK_DATES.get(event);
+        if (peak != null && random.nextDouble() < SEASONAL_SHARE) {
+            int year = today.getYear() - HISTORY_YEARS + random.nextInt(HISTORY_YEARS + 1);
+            long peakDay = peak.atYear(year).toEpochDay();
+            // Costumes are picked up a few days before the event
+            long day = peakDay - 2 + Math.round(random.nextGaussian() * PEAK_SPREAD_DAYS.get(event));
+            if (day >= firstDay && day <= lastDay) return day;
+        }
+        return firstDay + random.nextLong(lastDay - firstDay + 1);
+    }
+
+    private static int pickSize(int[] sizes, SplittableRandom random) {
+        if (sizes.length == 1) return sizes[0];
+        int total = 0;
+        for (int size : sizes) {
+            total += SIZE_WEIGHT[size];
+        }
+        int pick = random.nextInt(total);
+        for (int size : sizes) {
+            pick -= SIZE_WEIGHT[size];
+            if (pick < 0) return size;
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    private static void appendMoney(StringBuilder out, long cents) {
+        out.append(cents / 100).append('.');
+        long fraction = cents % 100;
+        if (fraction < 10) out.append('0');
+        out.append(fraction);
+    }
+
+    private static void peak(CostumeEvent event, MonthDay date, int spreadDays) {
+        PEAK_DATES.put(event, date);
+        PEAK_SPREAD_DAYS.put(event, spreadDays);
+    }
+
+    // Same format as String.format("R%03d", number), without the formatter
+    private static void appendId(StringBuilder out, char prefix, long number) {
+        out.append(prefix);
+        if (number < 100) out.append('0');
+        if (number < 10) out.append('0');
+        out.append(number);
+    }
+}